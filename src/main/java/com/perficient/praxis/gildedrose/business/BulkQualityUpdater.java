@@ -0,0 +1,42 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+
+/**
+ * Applies the daily quality update directly in the database, issuing one UPDATE
+ * statement per item type instead of loading and saving every row. The updated items are recorded in the
+ * change log by a single INSERT ... SELECT in the same transaction.
+ */
+@Component
+public class BulkQualityUpdater {
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+
+    public BulkQualityUpdater(ItemRepository itemRepository, ItemChangeRepository itemChangeRepository) {
+        this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+    }
+
+    /**
+     * LEGENDARY items never change, so no statement is issued for them and they are not counted.
+     * Items saturated at the quality limits are not told apart from the others here.
+     * The checkpoint is told the run is complete in the transaction of the updates.
+     */
+    @Transactional
+    public QualityRunSummary run(QualityCheckpoint checkpoint) {
+        var summary = new QualityRunSummary(QualityUpdateMode.BULK);
+        summary.record(Item.Type.NORMAL, itemRepository.updateNormalQuality());
+        summary.record(Item.Type.AGED, itemRepository.updateAgedQuality());
+        summary.record(Item.Type.TICKETS, itemRepository.updateTicketsQuality());
+        itemChangeRepository.appendUpdated(EnumSet.of(Item.Type.NORMAL, Item.Type.AGED, Item.Type.TICKETS));
+        checkpoint.completed();
+        return summary;
+    }
+}
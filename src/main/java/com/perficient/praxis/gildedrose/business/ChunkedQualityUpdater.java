@@ -0,0 +1,123 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the daily quality update in chunks of items read by id order (keyset pagination).
+ * Each chunk is written in its own transaction through JDBC batching and then detached,
+ * so memory stays bounded by the chunk size no matter how many items there are.
+ * Rows are written only if their version is still the one read, a chunk where another write got to
+ * a row first is rolled back and applied again to the rows as they are now. Conflicts are rare, so
+ * retrying the whole chunk keeps the writes batched. The items a chunk changes are recorded in the change
+ * log in the transaction of the chunk.
+ */
+@Component
+public class ChunkedQualityUpdater {
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final QualityRules qualityRules;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ChunkedQualityUpdater(ItemRepository itemRepository,
+                                 ItemChangeRepository itemChangeRepository,
+                                 QualityRules qualityRules,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${gildedrose.quality.chunk-size:1000}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+        this.qualityRules = qualityRules;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public QualityRunSummary run() {
+        return run(Integer.MIN_VALUE, 1, QualityCheckpoint.NONE);
+    }
+
+    /**
+     * Applies {@code days} daily updates to the items with an id greater than {@code afterId}, reporting
+     * every committed chunk to the checkpoint so an interrupted run can be resumed from the last one.
+     */
+    public QualityRunSummary run(int afterId, int days, QualityCheckpoint checkpoint) {
+        var summary = new QualityRunSummary(QualityUpdateMode.CHUNKED);
+        processRange(afterId, Integer.MAX_VALUE, days, summary, checkpoint);
+        return summary;
+    }
+
+    /**
+     * Updates the items with an id greater than {@code afterId} and up to {@code lastId},
+     * recording them in the given summary.
+     */
+    public void processRange(int afterId, int lastId, QualityRunSummary summary) {
+        processRange(afterId, lastId, 1, summary, QualityCheckpoint.NONE);
+    }
+
+    private void processRange(int afterId, int lastId, int days, QualityRunSummary summary, QualityCheckpoint checkpoint) {
+        Integer processedId = afterId;
+        while (processedId != null) {
+            int chunkAfterId = processedId;
+            processedId = processChunkWithRetry(chunkAfterId, lastId, days, summary, checkpoint);
+        }
+    }
+
+    private Integer processChunkWithRetry(int afterId, int lastId, int days,
+                                          QualityRunSummary summary, QualityCheckpoint checkpoint) {
+        for (int attempt = 1; ; attempt++) {
+            // counted apart so a rolled back attempt is not recorded twice
+            var chunkSummary = new QualityRunSummary(summary.getMode());
+            try {
+                Integer processedId = transactionTemplate.execute(
+                        status -> processChunk(afterId, lastId, days, chunkSummary, checkpoint));
+                summary.merge(chunkSummary);
+                return processedId;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == ItemService.MAX_CONFLICT_ATTEMPTS) {
+                    throw e;
+                }
+                summary.recordConflict();
+            }
+        }
+    }
+
+    /**
+     * @return the id of the last item processed, or null when there are no more items in the range
+     */
+    private Integer processChunk(int afterId, int lastId, int days,
+                                 QualityRunSummary summary, QualityCheckpoint checkpoint) {
+        List<Item> chunk = itemRepository.findChunk(afterId, lastId, PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        List<Item> changed = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            if (qualityRules.apply(item, days, summary)) {
+                changed.add(item);
+            }
+        }
+        // through the repository, so a version conflict comes as an OptimisticLockingFailureException
+        itemRepository.flush();
+        itemChangeRepository.append(ItemChange.Action.UPDATED, changed);
+        int chunkLastId = chunk.get(chunk.size() - 1).getId();
+        checkpoint.reached(chunkLastId, chunk.size());
+        entityManager.clear();
+        return chunk.size() < chunkSize ? null : chunkLastId;
+    }
+}
@@ -0,0 +1,192 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.business.rules.QualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory copy of the inventory for what-if simulations, held in primitive columns instead of
+ * {@link Item} entities: the id, sellIn and version as ints, the quality and the type ordinal as bytes.
+ * Rows are kept grouped by type, so the daily rules run as one tight loop per type over the columns.
+ * Rows changed by a simulation are tracked, so only those have to be written back, and only over the
+ * version they were loaded at.
+ */
+public final class ColumnarInventory {
+
+    /**
+     * Bytes held per item by the columns, the dirty bit set adds one bit more.
+     */
+    public static final int BYTES_PER_ITEM = 3 * Integer.BYTES + 2 * Byte.BYTES;
+
+    private static final Item.Type[] TYPES = Item.Type.values();
+    // items without a type are kept in a last group, never touched by the rules
+    private static final int NO_TYPE = TYPES.length;
+
+    private int[] ids;
+    private int[] sellIns;
+    private int[] versions;
+    private byte[] qualities;
+    private byte[] types;
+    private BitSet dirty = new BitSet();
+    private int size;
+    private boolean grouped = true;
+    private final int[] groupStart = new int[TYPES.length + 2];
+
+    public ColumnarInventory(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new int[capacity];
+        sellIns = new int[capacity];
+        versions = new int[capacity];
+        qualities = new byte[capacity];
+        types = new byte[capacity];
+    }
+
+    public void add(Item item) {
+        if (item.quality < Byte.MIN_VALUE || item.quality > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Quality " + item.quality + " of item " + item.getId() + " does not fit a byte");
+        }
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            sellIns = Arrays.copyOf(sellIns, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            qualities = Arrays.copyOf(qualities, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        ids[size] = item.getId();
+        sellIns[size] = item.sellIn;
+        versions[size] = item.getVersion() == null ? 0 : item.getVersion();
+        qualities[size] = (byte) (int) item.quality;
+        types[size] = (byte) (item.type == null ? NO_TYPE : item.type.ordinal());
+        size++;
+        grouped = false;
+    }
+
+    /**
+     * Applies {@code days} daily updates to every row, marking the rows that changed.
+     */
+    public void advance(QualityRules qualityRules, int days) {
+        if (days == 0) {
+            return;
+        }
+        group();
+        for (Item.Type type : TYPES) {
+            QualityRule rule = qualityRules.ruleFor(type);
+            if (rule != null) {
+                advance(rule, groupStart[type.ordinal()], groupStart[type.ordinal() + 1], days);
+            }
+        }
+    }
+
+    private void advance(QualityRule rule, int from, int to, int days) {
+        int decrement = rule.sellInDecrement() * days;
+        for (int i = from; i < to; i++) {
+            int sellIn = sellIns[i];
+            int quality = qualities[i];
+            int next = days == 1 ? rule.nextQuality(sellIn, quality) : rule.qualityAfter(sellIn, quality, days);
+            if (next != quality || decrement != 0) {
+                qualities[i] = (byte) next;
+                sellIns[i] = sellIn - decrement;
+                dirty.set(i);
+            }
+        }
+    }
+
+    /**
+     * Stable counting sort of the rows by type, carrying the dirty marks along.
+     */
+    private void group() {
+        if (grouped) {
+            return;
+        }
+        Arrays.fill(groupStart, 0);
+        for (int i = 0; i < size; i++) {
+            groupStart[types[i] + 1]++;
+        }
+        for (int t = 1; t < groupStart.length; t++) {
+            groupStart[t] += groupStart[t - 1];
+        }
+        int[] next = Arrays.copyOf(groupStart, groupStart.length);
+        int[] groupedIds = new int[ids.length];
+        int[] groupedSellIns = new int[ids.length];
+        int[] groupedVersions = new int[ids.length];
+        byte[] groupedQualities = new byte[ids.length];
+        byte[] groupedTypes = new byte[ids.length];
+        BitSet groupedDirty = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            int target = next[types[i]]++;
+            groupedIds[target] = ids[i];
+            groupedSellIns[target] = sellIns[i];
+            groupedVersions[target] = versions[i];
+            groupedQualities[target] = qualities[i];
+            groupedTypes[target] = types[i];
+            if (dirty.get(i)) {
+                groupedDirty.set(target);
+            }
+        }
+        ids = groupedIds;
+        sellIns = groupedSellIns;
+        versions = groupedVersions;
+        qualities = groupedQualities;
+        types = groupedTypes;
+        dirty = groupedDirty;
+        grouped = true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    public int sellIn(int row) {
+        return sellIns[row];
+    }
+
+    public int quality(int row) {
+        return qualities[row];
+    }
+
+    /**
+     * Version of the item the row was loaded from, or last written back at.
+     */
+    public int version(int row) {
+        return versions[row];
+    }
+
+    void setVersion(int row, int version) {
+        versions[row] = version;
+    }
+
+    public Item.Type type(int row) {
+        return types[row] == NO_TYPE ? null : TYPES[types[row]];
+    }
+
+    public boolean isDirty(int row) {
+        return dirty.get(row);
+    }
+
+    public int dirtyCount() {
+        return dirty.cardinality();
+    }
+
+    public void forEachDirty(IntConsumer action) {
+        dirty.stream().forEach(action);
+    }
+
+    public void clearDirty() {
+        dirty.clear();
+    }
+
+    /**
+     * @return bytes currently allocated by the columns and the dirty bit set
+     */
+    public long memoryBytes() {
+        return (long) ids.length * BYTES_PER_ITEM + dirty.size() / Byte.SIZE;
+    }
+}
@@ -0,0 +1,142 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.config.CacheConfig;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the inventory into a {@link ColumnarInventory} for simulations and writes the rows a
+ * simulation changed back through {@link ItemRepository}, over the versions they were loaded at.
+ */
+@Service
+public class InventorySimulationService {
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+
+    public InventorySimulationService(ItemRepository itemRepository,
+                                      ItemChangeRepository itemChangeRepository,
+                                      EntityManager entityManager,
+                                      PlatformTransactionManager transactionManager,
+                                      CacheManager cacheManager,
+                                      @Value("${gildedrose.quality.chunk-size:1000}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads every item through a database cursor into primitive columns, no entity is kept.
+     */
+    @Transactional(readOnly = true)
+    public ColumnarInventory load() {
+        var inventory = new ColumnarInventory((int) itemRepository.count());
+        try (var items = itemRepository.streamAll()) {
+            items.forEach(item -> {
+                inventory.add(item);
+                entityManager.detach(item);
+            });
+        }
+        return inventory;
+    }
+
+    /**
+     * Writes the sellIn and quality of the changed rows back in chunks, each chunk in its own transaction,
+     * and clears their dirty marks. A row is only written over the version it was loaded at: a row another
+     * write changed or removed since is left as it is and reported as a conflict. A chunk where another write
+     * gets to a row between its read and its write is rolled back and written again, that row then being a
+     * conflict. The written items are recorded in the change log in the transaction of their chunk and their
+     * rows take the version written.
+     */
+    public WriteBackResult writeBack(ColumnarInventory inventory) {
+        List<Integer> rows = new ArrayList<>(inventory.dirtyCount());
+        inventory.forEachDirty(rows::add);
+        int written = 0;
+        List<Integer> conflicts = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            var chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            Map<Integer, Integer> versions = writeChunkWithRetry(inventory, chunk, conflicts);
+            versions.forEach(inventory::setVersion);
+            written += versions.size();
+        }
+        inventory.clearDirty();
+        Cache items = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+        if (items != null && written > 0) {
+            items.clear();
+        }
+        return new WriteBackResult(written, conflicts);
+    }
+
+    private Map<Integer, Integer> writeChunkWithRetry(ColumnarInventory inventory, List<Integer> rows, List<Integer> conflicts) {
+        for (int attempt = 1; ; attempt++) {
+            // collected apart so a rolled back attempt is not reported twice
+            List<Integer> chunkConflicts = new ArrayList<>();
+            try {
+                Map<Integer, Integer> versions = transactionTemplate.execute(status -> writeChunk(inventory, rows, chunkConflicts));
+                conflicts.addAll(chunkConflicts);
+                return versions;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == ItemService.MAX_CONFLICT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the version written for each row written
+     */
+    private Map<Integer, Integer> writeChunk(ColumnarInventory inventory, List<Integer> rows, List<Integer> conflicts) {
+        Map<Integer, Integer> rowsById = new HashMap<>(rows.size() * 2);
+        for (int row : rows) {
+            rowsById.put(inventory.id(row), row);
+        }
+        List<Item> written = new ArrayList<>(rows.size());
+        List<Integer> writtenRows = new ArrayList<>(rows.size());
+        for (Item item : itemRepository.findAllById(new ArrayList<>(rowsById.keySet()))) {
+            int row = rowsById.remove(item.getId());
+            if (item.getVersion() == null || item.getVersion() != inventory.version(row)) {
+                conflicts.add(item.getId());
+                continue;
+            }
+            item.sellIn = inventory.sellIn(row);
+            item.quality = inventory.quality(row);
+            written.add(item);
+            writtenRows.add(row);
+        }
+        // the rows left were removed
+        conflicts.addAll(rowsById.keySet());
+        // through the repository, so a version conflict comes as an OptimisticLockingFailureException
+        itemRepository.flush();
+        itemChangeRepository.append(ItemChange.Action.UPDATED, written);
+        Map<Integer, Integer> versions = new HashMap<>(written.size() * 2);
+        for (int i = 0; i < written.size(); i++) {
+            versions.put(writtenRows.get(i), written.get(i).getVersion());
+        }
+        entityManager.clear();
+        return versions;
+    }
+}
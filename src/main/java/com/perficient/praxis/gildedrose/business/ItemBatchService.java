@@ -0,0 +1,218 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.config.CacheConfig;
+import com.perficient.praxis.gildedrose.error.ApiError;
+import com.perficient.praxis.gildedrose.error.ApiFieldError;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemBatchOperation;
+import com.perficient.praxis.gildedrose.model.ItemBatchResult;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IntSummaryStatistics;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies batches of item upserts and deletes. Operations are validated one by one and the valid ones
+ * are written in chunks, each chunk in its own transaction with a single lookup of the existing items
+ * and JDBC batched writes. Every operation gets its own result, failures reported as an {@link ApiError}:
+ * an entry that could not be read or is invalid fails alone, reporting every invalid field like a single write,
+ * and a chunk that cannot be saved fails every entry it would have written.
+ * An update carrying a version only applies to the item at that version, like a single update.
+ * The changes of a chunk are recorded in the change log in the transaction of the chunk.
+ */
+@Slf4j
+@Service
+public class ItemBatchService {
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+
+    public ItemBatchService(ItemRepository itemRepository,
+                            ItemChangeRepository itemChangeRepository,
+                            EntityManager entityManager,
+                            Validator validator,
+                            PlatformTransactionManager transactionManager,
+                            CacheManager cacheManager,
+                            @Value("${gildedrose.batch.chunk-size:500}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<ItemBatchResult> process(Iterator<ItemBatchOperation> operations) {
+        List<ItemBatchResult> results = new ArrayList<>();
+        List<ItemBatchOperation> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (operations.hasNext()) {
+            chunk.add(operations.next());
+            if (chunk.size() == chunkSize) {
+                results.addAll(processChunk(chunk, index));
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        results.addAll(processChunk(chunk, index));
+        return results;
+    }
+
+    private List<ItemBatchResult> processChunk(List<ItemBatchOperation> chunk, int firstIndex) {
+        ItemBatchResult[] results = new ItemBatchResult[chunk.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ItemBatchOperation operation = chunk.get(i);
+            ApiError error = validate(operation);
+            if (error == null) {
+                valid.add(i);
+            } else {
+                // a null entry of the array or a null line has no id to report
+                results[i] = ItemBatchResult.failure(firstIndex + i, operation == null ? null : operation.getId(), error);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<ItemChange.Action, List<Item>> changes = new EnumMap<>(ItemChange.Action.class);
+                write(chunk, valid, firstIndex, results, changes);
+                itemRepository.flush();
+                changes.forEach((action, items) -> {
+                    if (action == ItemChange.Action.DELETED) {
+                        itemChangeRepository.appendDeleted(items.stream().map(Item::getId).collect(Collectors.toList()));
+                    } else {
+                        itemChangeRepository.append(action, items);
+                    }
+                });
+                entityManager.clear();
+            });
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            // the shared entity manager throws its exceptions untranslated
+            RuntimeException translated = e instanceof PersistenceException
+                    ? EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e) : e;
+            HttpStatus status = translated instanceof OptimisticLockingFailureException ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+            IntSummaryStatistics ids = valid.stream().map(i -> chunk.get(i).getId()).filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue).summaryStatistics();
+            // the cause names tables, constraints and values, it is logged but never answered
+            log.warn("Batch chunk of entries {} to {}, ids {} to {}, could not be saved", firstIndex, firstIndex + chunk.size() - 1,
+                    ids.getCount() == 0 ? null : ids.getMin(), ids.getCount() == 0 ? null : ids.getMax(), translated);
+            for (int i : valid) {
+                // entries already failed on their own keep their error, the others were rolled back with the chunk
+                if (results[i] == null || results[i].getStatus() != ItemBatchResult.Status.FAILED) {
+                    results[i] = ItemBatchResult.failure(firstIndex + i, chunk.get(i).getId(), new ApiError(status, "chunk could not be saved"));
+                }
+            }
+        }
+        evictWritten(results);
+        return List.of(results);
+    }
+
+    private void evictWritten(ItemBatchResult[] results) {
+        Cache items = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+        if (items == null) {
+            return;
+        }
+        for (ItemBatchResult result : results) {
+            if (result.getStatus() == ItemBatchResult.Status.UPDATED || result.getStatus() == ItemBatchResult.Status.DELETED) {
+                items.evict(result.getId());
+            }
+        }
+    }
+
+    private void write(List<ItemBatchOperation> chunk, List<Integer> valid, int firstIndex, ItemBatchResult[] results,
+                       Map<ItemChange.Action, List<Item>> changes) {
+        List<Integer> ids = valid.stream()
+                .map(i -> chunk.get(i).getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Integer, Item> existing = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (int i : valid) {
+            ItemBatchOperation operation = chunk.get(i);
+            Integer id = operation.getId();
+            Item current = id == null ? null : existing.get(id);
+            if (id != null && current == null) {
+                results[i] = ItemBatchResult.failure(firstIndex + i, id, new ApiError(HttpStatus.NOT_FOUND, "item not found"));
+            } else if (operation.getAction() == ItemBatchOperation.Action.DELETE) {
+                entityManager.remove(current);
+                existing.remove(id);
+                changes.computeIfAbsent(ItemChange.Action.DELETED, action -> new ArrayList<>()).add(current);
+                results[i] = ItemBatchResult.success(firstIndex + i, id, ItemBatchResult.Status.DELETED);
+            } else if (current != null && operation.getItem().getVersion() != null
+                    && !operation.getItem().getVersion().equals(current.getVersion())) {
+                results[i] = ItemBatchResult.failure(firstIndex + i, id, new ApiError(HttpStatus.CONFLICT, "item was changed by another update"));
+            } else if (current != null) {
+                Item item = operation.getItem();
+                current.name = item.name;
+                current.sellIn = item.sellIn;
+                current.quality = item.quality;
+                current.type = item.type;
+                changes.computeIfAbsent(ItemChange.Action.UPDATED, action -> new ArrayList<>()).add(current);
+                results[i] = ItemBatchResult.success(firstIndex + i, id, ItemBatchResult.Status.UPDATED);
+            } else {
+                Item item = operation.getItem();
+                Item created = new Item(0, item.name, item.sellIn, item.quality, item.type);
+                entityManager.persist(created);
+                changes.computeIfAbsent(ItemChange.Action.CREATED, action -> new ArrayList<>()).add(created);
+                results[i] = ItemBatchResult.success(firstIndex + i, created.getId(), ItemBatchResult.Status.CREATED);
+            }
+        }
+    }
+
+    private ApiError validate(ItemBatchOperation operation) {
+        if (operation != null && operation.getReadError() != null) {
+            return new ApiError(HttpStatus.BAD_REQUEST, operation.getReadError());
+        }
+        if (operation == null || operation.getAction() == null) {
+            return new ApiError(HttpStatus.BAD_REQUEST, "action is mandatory");
+        }
+        if (operation.getAction() == ItemBatchOperation.Action.DELETE) {
+            return operation.getId() == null ? new ApiError(HttpStatus.BAD_REQUEST, "id is mandatory") : null;
+        }
+        if (operation.getItem() == null) {
+            return new ApiError(HttpStatus.BAD_REQUEST, "item is mandatory");
+        }
+        Set<ConstraintViolation<Item>> violations = validator.validate(operation.getItem());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<ApiFieldError> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<Item> violation : violations) {
+            errors.add(new ApiFieldError(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        return ApiError.invalidFields(errors);
+    }
+}
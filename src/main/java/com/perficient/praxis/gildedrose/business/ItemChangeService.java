@@ -0,0 +1,62 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads the item change log, so consumers can follow the inventory incrementally instead of reading it all
+ * again, and keeps it compact. The log itself is written by every service that changes items, in the
+ * transaction of the change.
+ */
+@Service
+public class ItemChangeService {
+
+    private static final String TIMER = "gildedrose.item.changes";
+
+    private final ItemChangeRepository itemChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final Object sequencing = new Object();
+
+    public ItemChangeService(ItemChangeRepository itemChangeRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.itemChangeRepository = itemChangeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Hands every change committed after the one with seq {@code since} to the action, in commit order.
+     * A consumer keeps the seq of the last change it handled and passes it on the next call.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public void forEachChange(long since, Consumer<ItemChange> action) {
+        sequence();
+        readOnlyTemplate.executeWithoutResult(status -> itemChangeRepository.forEachSince(since, action));
+    }
+
+    /**
+     * Drops the changes superseded by a later change of the same item. A consumer reading after that still
+     * ends with the same items, it only skips their intermediate states.
+     *
+     * @return the number of changes removed
+     */
+    @Timed(value = TIMER, histogram = true)
+    public int compact() {
+        sequence();
+        return transactionTemplate.execute(status -> itemChangeRepository.compact());
+    }
+
+    private void sequence() {
+        synchronized (sequencing) {
+            transactionTemplate.executeWithoutResult(status -> itemChangeRepository.sequencePending());
+        }
+    }
+}
@@ -1,113 +1,321 @@
 package com.perficient.praxis.gildedrose.business;
 
+import com.perficient.praxis.gildedrose.config.CacheConfig;
+import com.perficient.praxis.gildedrose.error.BadRequestException;
+import com.perficient.praxis.gildedrose.error.QualityRunInProgressException;
 import com.perficient.praxis.gildedrose.error.ResourceNotFoundException;
 import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.model.ItemPage;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemFilter;
 import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Arrays;
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class ItemService {
 
+    private static final String TIMER = "gildedrose.item.service";
+    public static final int MAX_PROJECTION_DAYS = 36500;
+    static final int MAX_CONFLICT_ATTEMPTS = 3;
+
     private final ItemRepository itemRepository;
+    private final ItemChangeRepository itemChangeRepository;
+    private final EntityManager entityManager;
+    private final QualityRules qualityRules;
+    private final BulkQualityUpdater bulkQualityUpdater;
+    private final ChunkedQualityUpdater chunkedQualityUpdater;
+    private final PartitionedQualityUpdater partitionedQualityUpdater;
+    private final CacheManager cacheManager;
+    private final QualityRunMetrics qualityRunMetrics;
+    private final QualityRunLock databaseLock;
+    private final TransactionTemplate transactionTemplate;
 
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ItemRepository itemRepository,
+                       ItemChangeRepository itemChangeRepository,
+                       EntityManager entityManager,
+                       QualityRules qualityRules,
+                       BulkQualityUpdater bulkQualityUpdater,
+                       ChunkedQualityUpdater chunkedQualityUpdater,
+                       PartitionedQualityUpdater partitionedQualityUpdater,
+                       CacheManager cacheManager,
+                       QualityRunMetrics qualityRunMetrics,
+                       QualityRunLock databaseLock,
+                       PlatformTransactionManager transactionManager) {
         this.itemRepository = itemRepository;
+        this.itemChangeRepository = itemChangeRepository;
+        this.entityManager = entityManager;
+        this.qualityRules = qualityRules;
+        this.bulkQualityUpdater = bulkQualityUpdater;
+        this.chunkedQualityUpdater = chunkedQualityUpdater;
+        this.partitionedQualityUpdater = partitionedQualityUpdater;
+        this.cacheManager = cacheManager;
+        this.qualityRunMetrics = qualityRunMetrics;
+        this.databaseLock = databaseLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
+    /**
+     * Runs the daily quality update with the given mode. Only one run can be in progress at a time,
+     * in this instance or any other sharing the database, a concurrent call fails with
+     * {@link QualityRunInProgressException} instead of degrading items twice.
+     * The item cache is cleared once the run ends, even a failed run may have committed some chunks.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public QualityRunSummary updateQuality(QualityUpdateMode mode) {
+        return updateQuality(mode, 1, Integer.MIN_VALUE, QualityCheckpoint.NONE);
     }
 
+    /**
+     * Same as {@link #updateQuality(QualityUpdateMode)} for {@code days} consecutive days at once.
+     * A CHUNKED run starts after {@code afterId} and reports each committed chunk to the checkpoint,
+     * a BULK run reports its completion in the transaction of its updates, other modes always process
+     * every item and apply a single day.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public QualityRunSummary updateQuality(QualityUpdateMode mode, int days, int afterId, QualityCheckpoint checkpoint) {
+        if (days != 1 && mode != QualityUpdateMode.CHUNKED) {
+            throw new IllegalArgumentException("Only the CHUNKED mode can apply more than one day");
+        }
+        QualityRunLock.Handle lock = databaseLock.tryAcquire();
+        if (lock == null) {
+            throw new QualityRunInProgressException("A quality update is already running");
+        }
+        try (lock) {
+            long start = System.nanoTime();
+            QualityRunSummary summary;
+            switch (mode) {
+                case BULK:
+                    summary = bulkQualityUpdater.run(checkpoint);
+                    break;
+                case CHUNKED:
+                    summary = chunkedQualityUpdater.run(afterId, days, checkpoint);
+                    break;
+                case PARALLEL:
+                    summary = partitionedQualityUpdater.run();
+                    break;
+                default:
+                    summary = new QualityRunSummary(QualityUpdateMode.PER_ITEM);
+                    updateEachItem(summary);
+            }
+            summary.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+            qualityRunMetrics.record(summary);
+            return summary;
+        } finally {
+            Cache items = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+            if (items != null) {
+                items.clear();
+            }
+        }
+    }
 
-    public List<Item> updateQuality() {
+    private void updateEachItem(QualityRunSummary summary) {
         var itemsList = itemRepository.findAll();
-        var items = itemsList.toArray(new Item[itemsList.size()]);
-        int baseAdjustment = 1;
 
         for (Item item: itemsList) {
-            boolean sellDatePassed = item.sellIn < 1;
-
-            if(item.type.equals(Item.Type.NORMAL)){
-                int adjustment = sellDatePassed ? baseAdjustment*2 : baseAdjustment;
-                changeQuality(item, -adjustment);
-                reduceSellIn(item);
-            }
-
-            if(item.type.equals(Item.Type.AGED)){
-                int adjustment = sellDatePassed ? baseAdjustment*2 : baseAdjustment;
-                changeQuality(item, adjustment);
-                reduceSellIn(item);
+            if (qualityRules.apply(item, summary)) {
+                saveWithRetry(item, summary);
             }
+        }
+    }
 
-            if(item.type.equals(Item.Type.TICKETS)){
-                changeTicketsQuality(item,sellDatePassed);
-                reduceSellIn(item);
+    /**
+     * Saves an item the quality rules changed. When another write got to the row first, the update is
+     * applied again to the row as it is now, giving up after {@link #MAX_CONFLICT_ATTEMPTS} attempts.
+     * Each write is recorded in the change log in its own transaction.
+     */
+    private void saveWithRetry(Item item, QualityRunSummary summary) {
+        for (int attempt = 1; ; attempt++) {
+            Item changed = item;
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveAndRecord(changed, ItemChange.Action.UPDATED));
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_CONFLICT_ATTEMPTS) {
+                    throw e;
+                }
+                summary.recordConflict();
+                Item current = itemRepository.findById(item.getId()).orElse(null);
+                if (current == null || !qualityRules.apply(current)) {
+                    return;
+                }
+                item = current;
             }
-
-
-            itemRepository.save(item);
         }
-        return Arrays.asList(items);
     }
 
 
+    @Timed(value = TIMER, histogram = true)
     public void changeQuality(Item item, int adjustment){
-        int newQuality = item.quality+adjustment;
-        int maxQuality = 50;
-        int minQuality = 0;
-        boolean inRange = newQuality <=maxQuality && newQuality>=minQuality;
-        if (inRange){
-            item.quality = newQuality;
-        }
+        qualityRules.changeQuality(item, adjustment);
     }
 
-    private void changeTicketsQuality(Item item, boolean sellDatePassed) {
-        int doubleDate = 10;
-        int tripleDate = 5;
-        changeQuality(item, 1);
-        if (item.sellIn <= doubleDate) {
-            changeQuality(item, 1);
-        }
-
-        if (item.sellIn <= tripleDate) {
-            changeQuality(item, 1);
-        }
-        if (sellDatePassed) {
-            item.quality = 0;
-        }
+    @Timed(value = TIMER, histogram = true)
+    public void reduceSellIn(Item item){
+        qualityRules.reduceSellIn(item);
     }
 
 
-    public void reduceSellIn(Item item){
-        int degradeRate = 1;
-        item.sellIn -= degradeRate;
+    /**
+     * Saves the item and records the state it was saved with in the change log. Must run in a transaction.
+     */
+    private Item saveAndRecord(Item item, ItemChange.Action action) {
+        Item saved = itemRepository.save(item);
+        // flushed first, so the recorded version is the one written
+        itemRepository.flush();
+        itemChangeRepository.append(action, List.of(saved));
+        return saved;
     }
 
-
+    @Timed(value = TIMER, histogram = true)
+    @CachePut(cacheNames = CacheConfig.ITEMS_CACHE, key = "#result.id", condition = "#result != null")
+    @Transactional
     public Item createItem(Item item) {
-        return itemRepository.save(item);
+        // always a new row, whatever id or version the client sent
+        item.setId(0);
+        item.setVersion(null);
+        return saveAndRecord(item, ItemChange.Action.CREATED);
     }
 
+    /**
+     * Replaces the item. The write is made from the version the client sent, or from the version just read
+     * when it sent none, and fails with an {@link OptimisticLockingFailureException} when the row has been
+     * written since, by another client or the quality run.
+     */
+    @Timed(value = TIMER, histogram = true)
+    @CachePut(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
+    @Transactional
     public Item updateItem(int id, Item item) {
-        if (itemRepository.findById(id).isPresent()){
-            return itemRepository.save(new Item(id, item.name, item.sellIn, item.quality, item.type));
-        }
-        else{
-            throw new ResourceNotFoundException("");
-        }
+        Item current = itemRepository.findById(id).orElseThrow(
+                ()-> new ResourceNotFoundException(""));
+        Item updated = new Item(id, item.name, item.sellIn, item.quality, item.type);
+        updated.setVersion(item.getVersion() != null ? item.getVersion() : current.getVersion());
+        return saveAndRecord(updated, ItemChange.Action.UPDATED);
     }
 
+    @Timed(value = TIMER, histogram = true)
+    @CacheEvict(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
+    @Transactional
     public void deleteById(int id) {
         Item item = findById(id);
         itemRepository.delete(item);
+        itemChangeRepository.appendDeleted(List.of(id));
     }
 
+    @Timed(value = TIMER, histogram = true)
     public List<Item> listItems(){
         return itemRepository.findAll();
     }
 
+    /**
+     * Lists the items after the given cursor, in id order. One extra row is read to know
+     * whether there is a next page without issuing another query.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public ItemPage<Item> listItems(ItemFilter filter, Integer after, int limit){
+        int afterId = after == null ? Integer.MIN_VALUE : after;
+        var items = itemRepository.findPage(filter, afterId, limit + 1);
+        if (items.size() <= limit) {
+            return new ItemPage<>(items, null);
+        }
+        var page = items.subList(0, limit);
+        return new ItemPage<>(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * Hands every item to the action in id order, reading them through a database cursor and
+     * detaching each one once handled, so memory use does not grow with the number of items.
+     */
+    @Timed(value = TIMER, histogram = true)
+    @Transactional(readOnly = true)
+    public void forEachItem(Consumer<Item> action){
+        try (var items = itemRepository.streamAll()) {
+            items.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+
+    /**
+     * Same as {@link #forEachItem(Consumer)} with every item as it will be after {@code days} daily
+     * updates. Items are projected on copies in closed form, nothing is written back.
+     */
+    @Timed(value = TIMER, histogram = true)
+    @Transactional(readOnly = true)
+    public void forEachProjectedItem(int days, Consumer<Item> action){
+        checkProjectionDays(days);
+        forEachItem(item -> action.accept(project(item, days)));
+    }
+
+    /**
+     * The item as it will be after {@code days} daily updates, the stored item is left as it is.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public Item projectItem(int id, int days){
+        checkProjectionDays(days);
+        return project(itemRepository.findById(id).orElseThrow(
+                ()-> new ResourceNotFoundException("")), days);
+    }
+
+    private Item project(Item item, int days){
+        var projected = new Item(item.getId(), item.name, item.sellIn, item.quality, item.type);
+        qualityRules.apply(projected, days, null);
+        return projected;
+    }
+
+    public static void checkProjectionDays(int days){
+        if (days < 0 || days > MAX_PROJECTION_DAYS) {
+            throw new BadRequestException("days should be between 0 and " + MAX_PROJECTION_DAYS);
+        }
+    }
+
+    @Timed(value = TIMER, histogram = true)
+    @Cacheable(cacheNames = CacheConfig.ITEMS_CACHE, key = "#id")
     public Item findById(int id) {
         return itemRepository.findById(id).orElseThrow(
                 ()-> new ResourceNotFoundException(""));
     }
+
+    /**
+     * Current version of the item, read from its row so it reflects the writes of every instance.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public int findVersion(int id) {
+        return itemRepository.findVersionById(id).orElseThrow(
+                ()-> new ResourceNotFoundException(""));
+    }
+
+    /**
+     * The item at {@code version} or later: the cached one when it is that recent, otherwise the row as it
+     * is now, which replaces the cached one. The cache only sees the writes of this instance.
+     */
+    @Timed(value = TIMER, histogram = true)
+    public Item findById(int id, int version) {
+        Cache items = cacheManager.getCache(CacheConfig.ITEMS_CACHE);
+        Item cached = items == null ? null : items.get(id, Item.class);
+        if (cached != null && cached.getVersion() != null && cached.getVersion() >= version) {
+            return cached;
+        }
+        Item item = itemRepository.findById(id).orElseThrow(
+                ()-> new ResourceNotFoundException(""));
+        if (items != null) {
+            items.put(id, item);
+        }
+        return item;
+    }
 }
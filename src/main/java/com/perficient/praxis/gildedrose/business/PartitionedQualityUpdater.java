@@ -0,0 +1,90 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits the id space into contiguous ranges and updates each range on its own worker thread,
+ * every worker running the chunked update with its own transactions and connection.
+ * The number of partitions defaults to the available cores and never exceeds the free connections of the pool.
+ */
+@Component
+public class PartitionedQualityUpdater {
+
+    private final ItemRepository itemRepository;
+    private final ChunkedQualityUpdater chunkedQualityUpdater;
+    private final DataSource dataSource;
+    private final QualityRunLock qualityRunLock;
+    private final int partitions;
+
+    public PartitionedQualityUpdater(ItemRepository itemRepository,
+                                     ChunkedQualityUpdater chunkedQualityUpdater,
+                                     DataSource dataSource,
+                                     QualityRunLock qualityRunLock,
+                                     @Value("${gildedrose.quality.partitions:0}") int partitions) {
+        this.itemRepository = itemRepository;
+        this.chunkedQualityUpdater = chunkedQualityUpdater;
+        this.dataSource = dataSource;
+        this.qualityRunLock = qualityRunLock;
+        this.partitions = partitions;
+    }
+
+    public QualityRunSummary run() {
+        var summary = new QualityRunSummary(QualityUpdateMode.PARALLEL);
+        Integer minId = itemRepository.findMinId();
+        Integer maxId = itemRepository.findMaxId();
+        if (minId == null) {
+            return summary;
+        }
+
+        long firstId = minId - 1L;
+        long span = maxId - firstId;
+        int workers = (int) Math.min(partitionCount(), span);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<QualityRunSummary>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                int afterId = (int) (firstId + span * i / workers);
+                int lastId = (int) (firstId + span * (i + 1) / workers);
+                results.add(executor.submit(() -> {
+                    var partition = new QualityRunSummary(QualityUpdateMode.PARALLEL);
+                    chunkedQualityUpdater.processRange(afterId, lastId, partition);
+                    return partition;
+                }));
+            }
+            for (Future<QualityRunSummary> result : results) {
+                summary.merge(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Quality update was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Quality update failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return summary;
+    }
+
+    int partitionCount() {
+        int count = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        if (dataSource instanceof HikariDataSource) {
+            int available = ((HikariDataSource) dataSource).getMaximumPoolSize() - qualityRunLock.reservedConnections();
+            count = Math.min(count, available);
+        }
+        return Math.max(count, 1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.perficient.praxis.gildedrose.business;
+
+/**
+ * Receives the progress of a quality update. It is called inside the transaction that writes the items,
+ * so whatever it persists commits or rolls back together with them.
+ */
+@FunctionalInterface
+public interface QualityCheckpoint {
+
+    QualityCheckpoint NONE = (lastProcessedId, processed) -> { };
+
+    /**
+     * @param lastProcessedId id of the last item of the chunk
+     * @param processed       number of items in the chunk
+     */
+    void reached(int lastProcessedId, int processed);
+
+    /**
+     * Called by updaters writing every item in a single transaction, once they are all written.
+     */
+    default void completed() {
+    }
+
+    /**
+     * A checkpoint that ignores the progress and runs the action once every item is written.
+     */
+    static QualityCheckpoint onCompletion(Runnable action) {
+        return new QualityCheckpoint() {
+            @Override
+            public void reached(int lastProcessedId, int processed) {
+            }
+
+            @Override
+            public void completed() {
+                action.run();
+            }
+        };
+    }
+}
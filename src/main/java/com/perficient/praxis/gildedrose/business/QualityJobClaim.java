@@ -0,0 +1,21 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A quality job recorded for a caller that runs it itself, see {@link QualityJobService#claim}. The lock is
+ * null when the job was recorded before, by another caller: it is only reported, not run.
+ */
+@Getter
+@RequiredArgsConstructor
+public class QualityJobClaim {
+
+    private final QualityJob job;
+    private final QualityRunLock.Handle lock;
+
+    public boolean isOwned() {
+        return lock != null;
+    }
+}
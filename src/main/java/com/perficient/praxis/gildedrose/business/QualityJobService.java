@@ -0,0 +1,330 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.error.QualityRunInProgressException;
+import com.perficient.praxis.gildedrose.error.ResourceNotFoundException;
+import com.perficient.praxis.gildedrose.error.StaleBusinessDateException;
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import com.perficient.praxis.gildedrose.repository.QualityJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs quality updates as background jobs, one at a time, on a dedicated thread.
+ * Jobs are keyed by business date, so a repeated request for a day that is already applied, or being
+ * applied, returns the recorded job instead of degrading the items again. CHUNKED jobs checkpoint every
+ * chunk, and BULK jobs are recorded as completed in the transaction of their updates, so both are resumed
+ * after a restart without applying a day twice. PER_ITEM and PARALLEL jobs found running after a restart
+ * are marked as failed instead, part of their items may already be updated.
+ * A job holds the quality run lock from the moment it starts until its outcome is saved, and interrupted
+ * jobs are only picked up by an instance that gets that lock, so a job still running on a live instance is
+ * never taken over. The reactive stack records its runs in the same ledger, see {@link #claim(LocalDate, boolean)}.
+ * A run records a change of most items, so the item change log is compacted after every completed job.
+ */
+@Slf4j
+@Service
+public class QualityJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Set<QualityJob.Status> ACTIVE = EnumSet.of(QualityJob.Status.QUEUED, QualityJob.Status.RUNNING);
+    private static final Set<QualityUpdateMode> RESUMABLE = EnumSet.of(QualityUpdateMode.CHUNKED, QualityUpdateMode.BULK);
+
+    private final QualityJobRepository qualityJobRepository;
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+    private final ItemChangeService itemChangeService;
+    private final QualityRunLock databaseLock;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "quality-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public QualityJobService(QualityJobRepository qualityJobRepository,
+                             ItemRepository itemRepository,
+                             ItemService itemService,
+                             ItemChangeService itemChangeService,
+                             QualityRunLock databaseLock) {
+        this.qualityJobRepository = qualityJobRepository;
+        this.itemRepository = itemRepository;
+        this.itemService = itemService;
+        this.itemChangeService = itemChangeService;
+        this.databaseLock = databaseLock;
+    }
+
+    /**
+     * Enqueues the quality update of a business date. A date that already has a job returns that job,
+     * retrying it first when it failed and can be resumed, and a date already covered by a catch-up
+     * returns the job covering it. With {@code catchUp} every day since the latest recorded date is
+     * applied at once in CHUNKED mode. Fails with {@link QualityRunInProgressException} while a job
+     * for another date is active, and while the latest recorded job failed after committing part of its
+     * items, which is resumed first so no item skips or repeats a day.
+     */
+    public synchronized QualityJob submit(QualityUpdateMode mode, LocalDate businessDate, boolean catchUp) {
+        var recorded = findRecorded(businessDate);
+        if (recorded.isPresent()) {
+            return recorded.get();
+        }
+        QualityJob job;
+        try {
+            job = record(mode, businessDate, catchUp);
+        } catch (DataIntegrityViolationException e) {
+            // another instance recorded the same date first
+            return qualityJobRepository.findByBusinessDate(businessDate).orElseThrow(() -> e);
+        }
+        enqueue(job);
+        return job;
+    }
+
+    /**
+     * Same as {@link #submit(QualityUpdateMode, LocalDate, boolean)} in CHUNKED mode, for a caller that runs
+     * the new job itself instead of the job thread, such as the reactive pipeline. The new job is returned
+     * running, with the quality run lock the caller holds until it reports the outcome to
+     * {@link #finish(QualityJobClaim, Throwable)}. A job recorded before for the date is returned without a lock.
+     */
+    public synchronized QualityJobClaim claim(LocalDate businessDate, boolean catchUp) {
+        var recorded = findRecorded(businessDate);
+        if (recorded.isPresent()) {
+            return new QualityJobClaim(recorded.get(), null);
+        }
+        QualityRunLock.Handle lock = databaseLock.tryAcquireDetached();
+        if (lock == null) {
+            throw new QualityRunInProgressException("A quality update is already running");
+        }
+        try {
+            QualityJob job = record(QualityUpdateMode.CHUNKED, businessDate, catchUp);
+            job.setStatus(QualityJob.Status.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setTotal(itemRepository.countByIdGreaterThan(Integer.MIN_VALUE));
+            return new QualityJobClaim(qualityJobRepository.save(job), lock);
+        } catch (DataIntegrityViolationException e) {
+            lock.close();
+            return new QualityJobClaim(qualityJobRepository.findByBusinessDate(businessDate).orElseThrow(() -> e), null);
+        } catch (RuntimeException e) {
+            lock.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Records the outcome of a job run by the caller of {@link #claim(LocalDate, boolean)}, failed when
+     * {@code error} is given, and releases its lock. Chunks it committed are checkpointed, so a failed job is
+     * resumed by the job thread like any other.
+     */
+    public QualityJob finish(QualityJobClaim claim, Throwable error) {
+        try (QualityRunLock.Handle ignored = claim.getLock()) {
+            QualityJob job = findById(claim.getJob().getId());
+            if (error == null) {
+                job.setProcessed(job.getTotal());
+                job.setStatus(QualityJob.Status.COMPLETED);
+            } else {
+                log.error("Quality job {} failed", job.getId(), error);
+                job.setStatus(QualityJob.Status.FAILED);
+                job.setError(truncate(String.valueOf(error.getMessage())));
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            job = qualityJobRepository.save(job);
+            if (job.getStatus() == QualityJob.Status.COMPLETED) {
+                compactChanges();
+            }
+            return job;
+        }
+    }
+
+    /**
+     * @return the job already recorded for the date or covering it, retried first when it failed, or empty when
+     * a new job can be recorded
+     */
+    private Optional<QualityJob> findRecorded(LocalDate businessDate) {
+        var recorded = qualityJobRepository.findByBusinessDate(businessDate);
+        if (recorded.isPresent()) {
+            return Optional.of(retryIfFailed(recorded.get()));
+        }
+        var latest = qualityJobRepository.findLatestApplied();
+        if (latest.isPresent() && !businessDate.isAfter(latest.get().getBusinessDate())) {
+            return Optional.of(qualityJobRepository.findFirstAppliedFrom(businessDate)
+                    .filter(job -> job.getBusinessDate().minusDays(job.getDays()).isBefore(businessDate))
+                    .orElseThrow(() -> new StaleBusinessDateException("Business date " + businessDate
+                            + " is before the latest applied date " + latest.get().getBusinessDate())));
+        }
+        if (latest.isPresent() && latest.get().getStatus() == QualityJob.Status.FAILED) {
+            var resumed = retryIfFailed(latest.get());
+            throw new QualityRunInProgressException("Quality job " + resumed.getId() + " for "
+                    + resumed.getBusinessDate() + " failed part way and is resumed first, submit "
+                    + businessDate + " again once it completes");
+        }
+        if (qualityJobRepository.existsByStatusIn(ACTIVE)) {
+            throw new QualityRunInProgressException("A quality update is already running");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Saves a new job for the date, of every day since the latest applied one with {@code catchUp}.
+     */
+    private QualityJob record(QualityUpdateMode mode, LocalDate businessDate, boolean catchUp) {
+        var latest = qualityJobRepository.findLatestApplied();
+        int days = catchUp && latest.isPresent()
+                ? Math.toIntExact(ChronoUnit.DAYS.between(latest.get().getBusinessDate(), businessDate))
+                : 1;
+        return qualityJobRepository.save(new QualityJob(days > 1 ? QualityUpdateMode.CHUNKED : mode, businessDate, days));
+    }
+
+    public QualityJob findById(long id) {
+        return qualityJobRepository.findById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Quality job " + id + " not found"));
+    }
+
+    /**
+     * Enqueues again the jobs a restart interrupted, in both stacks: the jobs of the reactive pipeline are
+     * CHUNKED jobs checkpointed like the others. Jobs still queued had not started and are run whatever their
+     * mode. Nothing is picked up while another run holds the quality run lock, the active job is its own.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<QualityJob> resumed = new ArrayList<>();
+        try (QualityRunLock.Handle lock = databaseLock.tryAcquire()) {
+            if (lock == null) {
+                log.info("A quality update is already running, interrupted jobs are left to it");
+                return;
+            }
+            for (QualityJob job : qualityJobRepository.findByStatusInOrderById(ACTIVE)) {
+                if (job.getStatus() == QualityJob.Status.QUEUED || RESUMABLE.contains(job.getMode())) {
+                    log.info("Resuming quality job {} after id {}", job.getId(), job.getLastProcessedId());
+                    resumed.add(job);
+                } else {
+                    job.setStatus(QualityJob.Status.FAILED);
+                    job.setFinishedAt(LocalDateTime.now());
+                    job.setError("Interrupted by a restart, a " + job.getMode() + " run cannot be resumed");
+                    qualityJobRepository.save(job);
+                }
+            }
+        }
+        // once the lock is released, for the job thread to take it
+        resumed.forEach(this::enqueue);
+    }
+
+    /**
+     * Runs a failed job again when none of its items were applied twice by doing so: a CHUNKED job resumes
+     * after its last committed chunk, and a failed BULK job committed nothing since its completion is recorded
+     * with its updates.
+     */
+    private QualityJob retryIfFailed(QualityJob job) {
+        if (job.getStatus() != QualityJob.Status.FAILED || !RESUMABLE.contains(job.getMode())) {
+            return job;
+        }
+        if (qualityJobRepository.existsByStatusIn(ACTIVE)) {
+            throw new QualityRunInProgressException("A quality update is already running");
+        }
+        job.setStatus(QualityJob.Status.QUEUED);
+        job.setError(null);
+        job.setFinishedAt(null);
+        job = qualityJobRepository.save(job);
+        enqueue(job);
+        return job;
+    }
+
+    private void enqueue(QualityJob job) {
+        long jobId = job.getId();
+        executor.execute(() -> execute(jobId));
+    }
+
+    private void execute(long jobId) {
+        try (QualityRunLock.Handle lock = databaseLock.tryAcquire()) {
+            QualityJob job = findById(jobId);
+            if (!ACTIVE.contains(job.getStatus())) {
+                // enqueued on two instances and already run by the other one
+                return;
+            }
+            if (lock == null) {
+                if (job.getStatus() == QualityJob.Status.QUEUED) {
+                    job.setStatus(QualityJob.Status.FAILED);
+                    job.setFinishedAt(LocalDateTime.now());
+                    job.setError("A quality update is already running");
+                    qualityJobRepository.save(job);
+                }
+                return;
+            }
+            run(job);
+        }
+    }
+
+    private void run(QualityJob job) {
+        long jobId = job.getId();
+        boolean chunked = job.getMode() == QualityUpdateMode.CHUNKED;
+        int afterId = chunked && job.getLastProcessedId() != null ? job.getLastProcessedId() : Integer.MIN_VALUE;
+        if (!chunked) {
+            job.setProcessed(0);
+        }
+        job.setStatus(QualityJob.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job.setProcessedAtStart(job.getProcessed());
+        job.setTotal(job.getProcessed() + itemRepository.countByIdGreaterThan(afterId));
+        qualityJobRepository.save(job);
+
+        try {
+            QualityCheckpoint checkpoint;
+            if (chunked) {
+                checkpoint = (lastProcessedId, processed) -> qualityJobRepository.checkpoint(jobId, lastProcessedId, processed);
+            } else if (job.getMode() == QualityUpdateMode.BULK) {
+                checkpoint = QualityCheckpoint.onCompletion(
+                        () -> qualityJobRepository.finish(jobId, QualityJob.Status.COMPLETED, LocalDateTime.now()));
+            } else {
+                checkpoint = QualityCheckpoint.NONE;
+            }
+            itemService.updateQuality(job.getMode(), job.getDays(), afterId, checkpoint);
+            job = findById(jobId);
+            if (!chunked) {
+                job.setProcessed(job.getTotal());
+            }
+            job.setStatus(QualityJob.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            job = findById(jobId);
+            if (job.getStatus() == QualityJob.Status.COMPLETED) {
+                // recorded with the updates, only what followed their commit failed
+                log.warn("Quality job {} failed after its updates were committed", jobId, e);
+            } else {
+                log.error("Quality job {} failed", jobId, e);
+                job.setStatus(QualityJob.Status.FAILED);
+                job.setError(truncate(String.valueOf(e.getMessage())));
+            }
+        }
+        job.setFinishedAt(LocalDateTime.now());
+        qualityJobRepository.save(job);
+        if (job.getStatus() == QualityJob.Status.COMPLETED) {
+            compactChanges();
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private void compactChanges() {
+        try {
+            log.info("Removed {} superseded item changes", itemChangeService.compact());
+        } catch (RuntimeException e) {
+            log.warn("Could not compact the item change log", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.business.rules.QualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily quality and sellIn rules for a single item, shared by every quality update mode.
+ * Each {@link Item.Type} is handled by the {@link QualityRule} bean registered for it.
+ */
+@Component
+public class QualityRules {
+
+    private final Map<Item.Type, QualityRule> rules = new EnumMap<>(Item.Type.class);
+    // lookups by type ordinal keep the per-item path to a single rule call
+    private final QualityRule[] rulesByOrdinal = new QualityRule[Item.Type.values().length];
+    private final int[] sellInDecrements = new int[Item.Type.values().length];
+
+    public QualityRules(List<QualityRule> rules) {
+        for (QualityRule rule : rules) {
+            if (this.rules.putIfAbsent(rule.type(), rule) != null) {
+                throw new IllegalStateException("More than one quality rule registered for " + rule.type());
+            }
+            rulesByOrdinal[rule.type().ordinal()] = rule;
+            sellInDecrements[rule.type().ordinal()] = rule.sellInDecrement();
+        }
+    }
+
+    /**
+     * Applies the rule of the item type, items without a rule are left untouched.
+     *
+     * @return true if the quality or the sellIn changed
+     */
+    public boolean apply(Item item) {
+        return apply(item, null);
+    }
+
+    /**
+     * Same as {@link #apply(Item)}, also recording the item in the summary when one is given.
+     */
+    public boolean apply(Item item, QualityRunSummary summary) {
+        return apply(item, 1, summary);
+    }
+
+    /**
+     * Applies {@code days} daily updates at once, using the closed form of the rule.
+     */
+    public boolean apply(Item item, int days, QualityRunSummary summary) {
+        Item.Type type = item.type;
+        QualityRule rule = type == null ? null : rulesByOrdinal[type.ordinal()];
+        if (rule == null || days == 0) {
+            return false;
+        }
+        int sellIn = item.sellIn;
+        int quality = item.quality;
+        int newQuality = days == 1 ? rule.nextQuality(sellIn, quality) : rule.qualityAfter(sellIn, quality, days);
+        int decrement = sellInDecrements[type.ordinal()] * days;
+        if (newQuality != quality) {
+            item.quality = newQuality;
+        }
+        if (decrement != 0) {
+            item.sellIn = sellIn - decrement;
+        }
+        boolean changed = newQuality != quality || decrement != 0;
+        if (summary != null) {
+            summary.record(type);
+            // a limit held the quality back when the last day, left unclamped, would have moved it elsewhere
+            int lastSellIn = sellIn - sellInDecrements[type.ordinal()] * (days - 1);
+            int lastQuality = days == 1 ? quality : rule.qualityAfter(sellIn, quality, days - 1);
+            int unclamped = rule.unclampedQuality(lastSellIn, lastQuality);
+            if (unclamped != newQuality) {
+                summary.recordSaturated(unclamped);
+            }
+            if (!changed) {
+                summary.recordUnchanged();
+            }
+        }
+        return changed;
+    }
+
+    public QualityRule ruleFor(Item.Type type) {
+        return rules.get(type);
+    }
+
+    public void changeQuality(Item item, int adjustment){
+        item.quality = QualityRule.adjust(item.quality, adjustment);
+    }
+
+    public void reduceSellIn(Item item){
+        item.sellIn -= 1;
+    }
+}
@@ -0,0 +1,128 @@
+package com.perficient.praxis.gildedrose.business;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The lock every quality run holds, whatever starts it: the quality jobs, {@link ItemService} and the
+ * reactive pipeline of {@link ReactiveItemService}. Within the instance it is a single flag, and on PostgreSQL
+ * also a session advisory lock held on a connection reserved for the whole run, so a run started from another
+ * instance is rejected too. Other databases, such as the in-memory one of the tests, only get the flag.
+ * {@link #tryAcquire()} is reentrant for the thread holding the lock, it is released when the outermost handle
+ * is closed. {@link #tryAcquireDetached()} is for runs that release it from another thread.
+ */
+@Component
+public class QualityRunLock {
+
+    static final long ADVISORY_KEY = 0x4749_4C44_4544L;
+    private static final Handle NONE = () -> { };
+
+    private final DataSource dataSource;
+    private final ThreadLocal<Handle> held = new ThreadLocal<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Boolean advisoryLocks;
+
+    public QualityRunLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return a handle to release the lock, or null when another run holds it
+     */
+    public Handle tryAcquire() {
+        if (held.get() != null) {
+            return NONE;
+        }
+        Handle lock = tryAcquireDetached();
+        if (lock == null) {
+            return null;
+        }
+        held.set(lock);
+        return () -> {
+            held.remove();
+            lock.close();
+        };
+    }
+
+    /**
+     * Same as {@link #tryAcquire()} for a run that may release the lock from another thread than the one
+     * acquiring it, such as a reactive pipeline. Not reentrant.
+     *
+     * @return a handle to release the lock, or null when another run holds it
+     */
+    public Handle tryAcquireDetached() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        Handle lock = null;
+        try {
+            lock = supportsAdvisoryLocks() ? tryAdvisoryLock() : () -> running.set(false);
+            return lock;
+        } finally {
+            if (lock == null) {
+                running.set(false);
+            }
+        }
+    }
+
+    private Handle tryAdvisoryLock() {
+        try {
+            Connection connection = dataSource.getConnection();
+            if (!advisoryLock(connection, "select pg_try_advisory_lock(?)")) {
+                connection.close();
+                return null;
+            }
+            return () -> {
+                try (connection) {
+                    advisoryLock(connection, "select pg_advisory_unlock(?)");
+                } catch (SQLException e) {
+                    throw new DataAccessResourceFailureException("Could not release the quality run lock", e);
+                } finally {
+                    running.set(false);
+                }
+            };
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not acquire the quality run lock", e);
+        }
+    }
+
+    /**
+     * @return connections kept busy by a held lock, which are not available to the run itself
+     */
+    public int reservedConnections() {
+        return supportsAdvisoryLocks() ? 1 : 0;
+    }
+
+    private boolean supportsAdvisoryLocks() {
+        if (advisoryLocks == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                advisoryLocks = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Could not inspect the database", e);
+            }
+        }
+        return advisoryLocks;
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ADVISORY_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Handle extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
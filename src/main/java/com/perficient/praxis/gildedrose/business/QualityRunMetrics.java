@@ -0,0 +1,57 @@
+package com.perficient.praxis.gildedrose.business;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the outcome of every quality run: its duration as a percentile histogram per mode,
+ * the items processed per type, the items held at the 0 or 50 quality limits, the items
+ * left unchanged, which are not written, and the writes retried after a conflict.
+ */
+@Component
+public class QualityRunMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public QualityRunMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(QualityRunSummary summary) {
+        String mode = summary.getMode().name();
+        Timer.builder("gildedrose.quality.run")
+                .description("Duration of the daily quality update")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(summary.getElapsedMillis(), TimeUnit.MILLISECONDS);
+        summary.getItemsByType().forEach((type, count) -> Counter.builder("gildedrose.quality.items")
+                .description("Items processed by the quality update")
+                .tag("type", type.name())
+                .register(meterRegistry)
+                .increment(count));
+        saturated("min", summary.getSaturatedAtMin());
+        saturated("max", summary.getSaturatedAtMax());
+        Counter.builder("gildedrose.quality.unchanged")
+                .description("Items left unchanged by the quality update and not written")
+                .register(meterRegistry)
+                .increment(summary.getRowsUnchanged());
+        Counter.builder("gildedrose.quality.conflicts")
+                .description("Writes of the quality update applied again after a concurrent write of the same rows")
+                .register(meterRegistry)
+                .increment(summary.getConflicts());
+    }
+
+    private void saturated(String limit, long count) {
+        Counter.builder("gildedrose.quality.saturated")
+                .description("Items whose quality stayed at the 0 or 50 limit")
+                .tag("limit", limit)
+                .register(meterRegistry)
+                .increment(count);
+    }
+}
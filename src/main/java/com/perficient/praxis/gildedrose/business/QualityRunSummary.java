@@ -0,0 +1,76 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.business.rules.QualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of a quality update run: how many rows were processed, per type, how many items had
+ * their quality held back by the 0 or 50 limit, how many were left unchanged and
+ * therefore not written, how many writes were applied again after losing to a concurrent write,
+ * and how long it took.
+ */
+@Getter
+public class QualityRunSummary {
+
+    private final QualityUpdateMode mode;
+    private long rowsProcessed;
+    private final Map<Item.Type, Long> itemsByType = new EnumMap<>(Item.Type.class);
+    private long saturatedAtMin;
+    private long saturatedAtMax;
+    private long rowsUnchanged;
+    private long conflicts;
+    @Setter
+    private long elapsedMillis;
+
+    public QualityRunSummary(QualityUpdateMode mode) {
+        this.mode = mode;
+    }
+
+    public void record(Item.Type type) {
+        record(type, 1);
+    }
+
+    public void record(Item.Type type, long count) {
+        rowsProcessed += count;
+        itemsByType.merge(type, count, Long::sum);
+    }
+
+    /**
+     * Records an item whose quality a limit held back, given the quality the update would have
+     * reached without the limits: reaching a limit counts as much as staying at it.
+     */
+    public void recordSaturated(int unclampedQuality) {
+        if (unclampedQuality < QualityRule.MIN_QUALITY) {
+            saturatedAtMin++;
+        } else if (unclampedQuality > QualityRule.MAX_QUALITY) {
+            saturatedAtMax++;
+        }
+    }
+
+    /**
+     * Records an item the rules left exactly as it was, so it is not written.
+     */
+    public void recordUnchanged() {
+        rowsUnchanged++;
+    }
+
+    /**
+     * Records a write that lost to a concurrent write of the same rows and was applied again to them.
+     */
+    public void recordConflict() {
+        conflicts++;
+    }
+
+    public void merge(QualityRunSummary other) {
+        other.itemsByType.forEach(this::record);
+        saturatedAtMin += other.saturatedAtMin;
+        saturatedAtMax += other.saturatedAtMax;
+        rowsUnchanged += other.rowsUnchanged;
+        conflicts += other.conflicts;
+    }
+}
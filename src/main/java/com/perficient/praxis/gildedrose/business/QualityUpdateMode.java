@@ -0,0 +1,27 @@
+package com.perficient.praxis.gildedrose.business;
+
+/**
+ * Strategies available to apply the daily quality update over the whole inventory.
+ */
+public enum QualityUpdateMode {
+
+    /**
+     * Loads every item and saves them back one by one.
+     */
+    PER_ITEM,
+
+    /**
+     * Applies the rules with one set-based UPDATE statement per item type.
+     */
+    BULK,
+
+    /**
+     * Walks the items in id order, one chunk and one transaction at a time, with batched writes.
+     */
+    CHUNKED,
+
+    /**
+     * Splits the id space into ranges and runs the CHUNKED update on each range in parallel.
+     */
+    PARALLEL
+}
@@ -0,0 +1,190 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.error.ResourceNotFoundException;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import com.perficient.praxis.gildedrose.repository.ReactiveItemRepository;
+import com.perficient.praxis.gildedrose.repository.ReactiveQualityJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Item operations of the reactive stack. Items are changed by the same {@link QualityRules} as
+ * {@link ItemService}, only the way they are read and written differs. Every write is recorded in the
+ * change log in its own transaction, like the writes of {@link ItemService}, and quality runs in the job
+ * ledger of {@link QualityJobService}.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemService {
+
+    private final ReactiveItemRepository itemRepository;
+    private final QualityRules qualityRules;
+    private final TransactionalOperator transactionalOperator;
+    private final QualityRunMetrics qualityRunMetrics;
+    private final QualityJobService qualityJobService;
+    private final ReactiveQualityJobRepository qualityJobRepository;
+    private final int chunkSize;
+
+    public ReactiveItemService(ReactiveItemRepository itemRepository,
+                               QualityRules qualityRules,
+                               TransactionalOperator transactionalOperator,
+                               QualityRunMetrics qualityRunMetrics,
+                               QualityJobService qualityJobService,
+                               ReactiveQualityJobRepository qualityJobRepository,
+                               @Value("${gildedrose.quality.chunk-size:1000}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.qualityRules = qualityRules;
+        this.transactionalOperator = transactionalOperator;
+        this.qualityRunMetrics = qualityRunMetrics;
+        this.qualityJobService = qualityJobService;
+        this.qualityJobRepository = qualityJobRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    public Flux<Item> listItems() {
+        return itemRepository.findAll();
+    }
+
+    public Mono<Item> findById(int id) {
+        return itemRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("")));
+    }
+
+    public Mono<Item> createItem(Item item) {
+        return transactionalOperator.transactional(itemRepository.insert(item)
+                .flatMap(created -> itemRepository.appendChanges(ItemChange.Action.CREATED, List.of(created)).thenReturn(created)));
+    }
+
+    /**
+     * Replaces the item from the version the client sent, or from the version just read when it sent none,
+     * like {@link ItemService#updateItem(int, Item)}.
+     */
+    public Mono<Item> updateItem(int id, Item item) {
+        Mono<Integer> version = item.getVersion() != null ? Mono.just(item.getVersion()) : findById(id).map(Item::getVersion);
+        return transactionalOperator.transactional(version.flatMap(from -> {
+            var updated = new Item(id, item.name, item.sellIn, item.quality, item.type);
+            updated.setVersion(from);
+            return itemRepository.update(updated).flatMap(rows -> {
+                if (rows == 0) {
+                    return findById(id).flatMap(current -> Mono.error(new ObjectOptimisticLockingFailureException(Item.class, id)));
+                }
+                updated.setVersion(from + 1);
+                return itemRepository.appendChanges(ItemChange.Action.UPDATED, List.of(updated)).thenReturn(updated);
+            });
+        }));
+    }
+
+    public Mono<Void> deleteById(int id) {
+        return transactionalOperator.transactional(itemRepository.deleteById(id)
+                .flatMap(rows -> rows == 0 ? Mono.error(new ResourceNotFoundException("")) : itemRepository.appendDeleted(id)));
+    }
+
+    /**
+     * Applies the quality update of a business date as a backpressured pipeline: chunks of
+     * {@code gildedrose.quality.chunk-size} items are read by id order and each one is written in its own
+     * transaction before the next one is requested, so at most two chunks are held in memory. With
+     * {@code catchUp} every day since the latest applied date is applied at once.
+     * The run is a CHUNKED job of the ledger of {@link QualityJobService}, holding the same quality run lock
+     * as the jobs and {@link ItemService}: a date is applied once whichever stack is asked, a date already
+     * recorded answers with its job without running, and every chunk is checkpointed in its transaction so
+     * a run that fails or is interrupted is resumed by the job thread. Rows written by someone else since they
+     * were read are read again and the update is applied to them as they are now.
+     *
+     * @return the job once the run ends
+     */
+    public Mono<QualityJob> updateQuality(LocalDate businessDate, boolean catchUp) {
+        // the ledger and the lock are reached over JDBC, so off the event loop
+        return Mono.fromCallable(() -> qualityJobService.claim(businessDate, catchUp))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(claim -> claim.isOwned() ? run(claim) : Mono.just(claim.getJob()));
+    }
+
+    private Mono<QualityJob> run(QualityJobClaim claim) {
+        return Mono.usingWhen(Mono.just(claim), owned -> runQualityUpdate(owned.getJob()),
+                        owned -> finish(owned, null),
+                        (owned, error) -> finish(owned, error),
+                        owned -> finish(owned, new CancellationException("The quality update was cancelled")))
+                .then(Mono.fromCallable(() -> qualityJobService.findById(claim.getJob().getId()))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private Mono<QualityJob> finish(QualityJobClaim claim, Throwable error) {
+        return Mono.fromCallable(() -> qualityJobService.finish(claim, error)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<QualityRunSummary> runQualityUpdate(QualityJob job) {
+        return Mono.defer(() -> {
+            var summary = new QualityRunSummary(QualityUpdateMode.CHUNKED);
+            long start = System.nanoTime();
+            return chunks()
+                    .concatMap(chunk -> transactionalOperator.transactional(updateChunk(job, chunk, summary)), 1)
+                    .then(Mono.fromSupplier(() -> {
+                        summary.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+                        qualityRunMetrics.record(summary);
+                        return summary;
+                    }));
+        });
+    }
+
+    private Flux<List<Item>> chunks() {
+        return itemRepository.findChunk(Integer.MIN_VALUE, chunkSize).collectList()
+                .expand(chunk -> chunk.size() < chunkSize
+                        ? Mono.empty()
+                        : itemRepository.findChunk(chunk.get(chunk.size() - 1).getId(), chunkSize).collectList())
+                .filter(chunk -> !chunk.isEmpty());
+    }
+
+    private Mono<Void> updateChunk(QualityJob job, List<Item> chunk, QualityRunSummary summary) {
+        return Mono.defer(() -> {
+            int days = job.getDays();
+            List<Item> changed = new ArrayList<>(chunk.size());
+            for (Item item : chunk) {
+                if (qualityRules.apply(item, days, summary)) {
+                    changed.add(item);
+                }
+            }
+            return write(changed, days, summary, 1)
+                    .then(qualityJobRepository.checkpoint(job.getId(), chunk.get(chunk.size() - 1).getId(), chunk.size()));
+        });
+    }
+
+    private Mono<Integer> write(List<Item> items, int days, QualityRunSummary summary, int attempt) {
+        return itemRepository.updateQuality(items).flatMap(conflicts -> {
+            List<Item> written = new ArrayList<>(items);
+            written.removeAll(conflicts);
+            written.forEach(item -> item.setVersion(item.getVersion() + 1));
+            return itemRepository.appendChanges(ItemChange.Action.UPDATED, written).then(retryConflicts(conflicts, days, summary, attempt))
+                    .map(rewritten -> written.size() + rewritten);
+        });
+    }
+
+    private Mono<Integer> retryConflicts(List<Item> conflicts, int days, QualityRunSummary summary, int attempt) {
+        return Mono.defer(() -> {
+            if (conflicts.isEmpty()) {
+                return Mono.just(0);
+            }
+            if (attempt == ItemService.MAX_CONFLICT_ATTEMPTS) {
+                return Mono.error(new ObjectOptimisticLockingFailureException(Item.class, conflicts.get(0).getId()));
+            }
+            conflicts.forEach(item -> summary.recordConflict());
+            return Flux.fromIterable(conflicts)
+                    .concatMap(item -> itemRepository.findById(item.getId()))
+                    .filter(item -> qualityRules.apply(item, days, null))
+                    .collectList()
+                    .flatMap(retry -> write(retry, days, summary, attempt + 1));
+        });
+    }
+}
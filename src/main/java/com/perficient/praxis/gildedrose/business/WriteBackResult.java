@@ -0,0 +1,18 @@
+package com.perficient.praxis.gildedrose.business;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link InventorySimulationService#writeBack}: the number of rows written and the ids of the
+ * rows left as they were because another write changed or removed them after they were loaded.
+ */
+@Getter
+@RequiredArgsConstructor
+public class WriteBackResult {
+
+    private final int written;
+    private final List<Integer> conflicts;
+}
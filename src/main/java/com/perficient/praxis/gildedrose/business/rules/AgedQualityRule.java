@@ -0,0 +1,40 @@
+package com.perficient.praxis.gildedrose.business.rules;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quality grows by 1 per day, twice as fast once the sell by date has passed.
+ */
+@Component
+public class AgedQualityRule implements QualityRule {
+
+    @Override
+    public Item.Type type() {
+        return Item.Type.AGED;
+    }
+
+    @Override
+    public int nextQuality(int sellIn, int quality) {
+        return QualityRule.adjust(quality, sellIn < 1 ? 2 : 1);
+    }
+
+    @Override
+    public int unclampedQuality(int sellIn, int quality) {
+        return quality + (sellIn < 1 ? 2 : 1);
+    }
+
+    @Override
+    public int qualityAfter(int sellIn, int quality, int days) {
+        int beforeDate = QualityRule.daysAbove(sellIn, 0, days);
+        int afterDate = days - beforeDate;
+        // a step is skipped when it would go above 50, and quality below -2 never moves
+        if (quality >= MIN_QUALITY - 1 && quality <= MAX_QUALITY) {
+            quality += Math.min(beforeDate, MAX_QUALITY - quality);
+        }
+        if (quality >= MIN_QUALITY - 2 && quality <= MAX_QUALITY) {
+            quality += 2 * Math.min(afterDate, (MAX_QUALITY - quality) / 2);
+        }
+        return quality;
+    }
+}
@@ -0,0 +1,31 @@
+package com.perficient.praxis.gildedrose.business.rules;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import org.springframework.stereotype.Component;
+
+/**
+ * Legendary items never have to be sold and never change quality.
+ */
+@Component
+public class LegendaryQualityRule implements QualityRule {
+
+    @Override
+    public Item.Type type() {
+        return Item.Type.LEGENDARY;
+    }
+
+    @Override
+    public int nextQuality(int sellIn, int quality) {
+        return quality;
+    }
+
+    @Override
+    public int qualityAfter(int sellIn, int quality, int days) {
+        return quality;
+    }
+
+    @Override
+    public int sellInDecrement() {
+        return 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.perficient.praxis.gildedrose.business.rules;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quality drops by 1 per day, twice as fast once the sell by date has passed.
+ */
+@Component
+public class NormalQualityRule implements QualityRule {
+
+    @Override
+    public Item.Type type() {
+        return Item.Type.NORMAL;
+    }
+
+    @Override
+    public int nextQuality(int sellIn, int quality) {
+        return QualityRule.adjust(quality, sellIn < 1 ? -2 : -1);
+    }
+
+    @Override
+    public int unclampedQuality(int sellIn, int quality) {
+        return quality + (sellIn < 1 ? -2 : -1);
+    }
+
+    @Override
+    public int qualityAfter(int sellIn, int quality, int days) {
+        int beforeDate = QualityRule.daysAbove(sellIn, 0, days);
+        int afterDate = days - beforeDate;
+        // a step is skipped when it would go below 0, and quality above the limit never moves
+        if (quality >= MIN_QUALITY && quality <= MAX_QUALITY + 1) {
+            quality = Math.max(quality - beforeDate, MIN_QUALITY);
+        }
+        if (quality >= MIN_QUALITY && quality <= MAX_QUALITY + 2) {
+            quality = Math.max(quality - 2 * afterDate, quality % 2);
+        }
+        return quality;
+    }
+}
@@ -0,0 +1,62 @@
+package com.perficient.praxis.gildedrose.business.rules;
+
+import com.perficient.praxis.gildedrose.model.Item;
+
+/**
+ * Daily update rule for one {@link Item.Type}. Rules work on primitive values only, so new item
+ * categories can be supported by registering another rule bean.
+ */
+public interface QualityRule {
+
+    int MIN_QUALITY = 0;
+    int MAX_QUALITY = 50;
+
+    Item.Type type();
+
+    /**
+     * @return the quality after one day, given the sellIn and quality before the update
+     */
+    int nextQuality(int sellIn, int quality);
+
+    /**
+     * @return the quality one day would give before it is kept between 0 and 50, so the items held back
+     * by a limit can be counted. Rules that never apply a limit keep the default, their next quality.
+     */
+    default int unclampedQuality(int sellIn, int quality) {
+        return nextQuality(sellIn, quality);
+    }
+
+    /**
+     * @return the quality after {@code days} consecutive daily updates. Rules override it with a
+     * closed form so missed days can be caught up without looping over each one.
+     */
+    default int qualityAfter(int sellIn, int quality, int days) {
+        for (int day = 0; day < days; day++) {
+            quality = nextQuality(sellIn, quality);
+            sellIn -= sellInDecrement();
+        }
+        return quality;
+    }
+
+    /**
+     * @return how much the sellIn drops per day
+     */
+    default int sellInDecrement() {
+        return 1;
+    }
+
+    /**
+     * Applies the adjustment only when the result stays between 0 and 50, otherwise keeps the quality.
+     */
+    static int adjust(int quality, int adjustment) {
+        int newQuality = quality + adjustment;
+        return newQuality >= MIN_QUALITY && newQuality <= MAX_QUALITY ? newQuality : quality;
+    }
+
+    /**
+     * @return how many of the {@code days} updates starting at {@code sellIn} see a sellIn above {@code threshold}
+     */
+    static int daysAbove(int sellIn, int threshold, int days) {
+        return Math.max(0, Math.min(sellIn - threshold, days));
+    }
+}
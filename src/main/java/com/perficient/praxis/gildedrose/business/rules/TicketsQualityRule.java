@@ -0,0 +1,57 @@
+package com.perficient.praxis.gildedrose.business.rules;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quality grows by 1 per day, by 2 with 10 days or less and by 3 with 5 days or less,
+ * and drops to 0 after the concert.
+ */
+@Component
+public class TicketsQualityRule implements QualityRule {
+
+    private static final int DOUBLE_DATE = 10;
+    private static final int TRIPLE_DATE = 5;
+
+    @Override
+    public Item.Type type() {
+        return Item.Type.TICKETS;
+    }
+
+    @Override
+    public int nextQuality(int sellIn, int quality) {
+        if (sellIn < 1) {
+            return 0;
+        }
+        // each daily increment is only applied while the result stays between 0 and 50
+        if (quality < MIN_QUALITY - 1 || quality >= MAX_QUALITY) {
+            return quality;
+        }
+        return Math.min(quality + increment(sellIn), MAX_QUALITY);
+    }
+
+    @Override
+    public int unclampedQuality(int sellIn, int quality) {
+        // dropping to 0 after the concert is the rule itself, not a limit
+        return sellIn < 1 ? 0 : quality + increment(sellIn);
+    }
+
+    private static int increment(int sellIn) {
+        return sellIn <= TRIPLE_DATE ? 3 : sellIn <= DOUBLE_DATE ? 2 : 1;
+    }
+
+    @Override
+    public int qualityAfter(int sellIn, int quality, int days) {
+        if (sellIn - days + 1 < 1) {
+            return 0;
+        }
+        if (quality < MIN_QUALITY - 1 || quality >= MAX_QUALITY) {
+            return quality;
+        }
+        // every day adds 1, plus 1 for each day at 10 or less and 1 for each day at 5 or less
+        int increment = 3 * days
+                - QualityRule.daysAbove(sellIn, DOUBLE_DATE, days)
+                - QualityRule.daysAbove(sellIn, TRIPLE_DATE, days);
+        return Math.min(quality + increment, MAX_QUALITY);
+    }
+}
@@ -0,0 +1,15 @@
+package com.perficient.praxis.gildedrose.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Items by id are cached in process, size and expiration are set by {@code spring.cache.caffeine.spec}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ITEMS_CACHE = "items";
+
+}
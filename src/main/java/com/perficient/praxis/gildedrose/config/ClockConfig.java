@@ -0,0 +1,22 @@
+package com.perficient.praxis.gildedrose.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Clock the business date of quality updates is taken from, in the zone set by
+ * {@code gildedrose.business-date.zone} rather than the default zone of the server.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock(@Value("${gildedrose.business-date.zone:UTC}") ZoneId zone) {
+        return Clock.system(zone);
+    }
+
+}
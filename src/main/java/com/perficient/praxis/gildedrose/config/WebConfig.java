@@ -1,18 +1,88 @@
 package com.perficient.praxis.gildedrose.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import javax.annotation.PreDestroy;
+import java.util.List;
+
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebMvc
+// applied first, so the virtual thread mode can replace the async executor
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class WebConfig implements WebMvcConfigurer {
 
+    private final long asyncRequestTimeout;
+    private final ThreadPoolTaskExecutor asyncExecutor = new ThreadPoolTaskExecutor();
+
+    public WebConfig(@Value("${gildedrose.export.timeout-ms:1800000}") long asyncRequestTimeout,
+                     @Value("${gildedrose.export.threads:8}") int asyncThreads,
+                     @Value("${gildedrose.export.queue-capacity:100}") int asyncQueueCapacity) {
+        this.asyncRequestTimeout = asyncRequestTimeout;
+        asyncExecutor.setCorePoolSize(asyncThreads);
+        asyncExecutor.setMaxPoolSize(asyncThreads);
+        asyncExecutor.setQueueCapacity(asyncQueueCapacity);
+        asyncExecutor.setThreadNamePrefix("mvc-async-");
+        asyncExecutor.initialize();
+    }
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**");
     }
 
-}
\ No newline at end of file
+    /**
+     * Streamed responses such as the inventory export run asynchronously and may take longer
+     * than the servlet container default timeout. {@code @EnableWebMvc} leaves out Spring Boot's executor,
+     * so they get a bounded pool of their own instead of a new thread each: past
+     * {@code gildedrose.export.threads} running and {@code gildedrose.export.queue-capacity} waiting,
+     * they are answered {@code 503 Service Unavailable}.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeout);
+        configurer.setTaskExecutor(asyncExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        asyncExecutor.shutdown();
+    }
+
+    /**
+     * Smile and CBOR are served next to JSON, picked by the Accept header. The Smile converter Spring MVC
+     * registers is replaced by one that also shares string values, see {@link #smileObjectMapper()}.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                ? new MappingJackson2SmileHttpMessageConverter(smileObjectMapper())
+                : converter);
+    }
+
+    /**
+     * Smile writer that refers back to short string values it already wrote, so the type of each item
+     * takes a byte or two instead of its name.
+     */
+    public static ObjectMapper smileObjectMapper() {
+        return Jackson2ObjectMapperBuilder.smile()
+                .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .build();
+    }
+
+}
@@ -1,8 +1,30 @@
 package com.perficient.praxis.gildedrose.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.perficient.praxis.gildedrose.business.ItemBatchService;
+import com.perficient.praxis.gildedrose.business.ItemChangeService;
 import com.perficient.praxis.gildedrose.business.ItemService;
+import com.perficient.praxis.gildedrose.business.QualityJobService;
+import com.perficient.praxis.gildedrose.business.QualityUpdateMode;
 import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemBatchOperation;
+import com.perficient.praxis.gildedrose.model.ItemBatchResult;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.model.ItemPage;
+import com.perficient.praxis.gildedrose.model.ItemResponse;
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import com.perficient.praxis.gildedrose.repository.CatalogGeneration;
+import com.perficient.praxis.gildedrose.repository.ItemFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,53 +34,255 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "api/items")
 public class ItemController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ItemService itemService;
+    private final ItemBatchService itemBatchService;
+    private final ItemChangeService itemChangeService;
+    private final QualityJobService qualityJobService;
+    private final CatalogGeneration catalogGeneration;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final String itemsCacheControl;
+    private final String itemCacheControl;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService,
+                          ItemBatchService itemBatchService,
+                          ItemChangeService itemChangeService,
+                          QualityJobService qualityJobService,
+                          CatalogGeneration catalogGeneration,
+                          ObjectMapper objectMapper,
+                          Clock clock,
+                          @Value("${gildedrose.http.cache-control.items:no-cache}") String itemsCacheControl,
+                          @Value("${gildedrose.http.cache-control.item:no-cache}") String itemCacheControl) {
         this.itemService = itemService;
+        this.itemBatchService = itemBatchService;
+        this.itemChangeService = itemChangeService;
+        this.qualityJobService = qualityJobService;
+        this.catalogGeneration = catalogGeneration;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.itemsCacheControl = itemsCacheControl;
+        this.itemCacheControl = itemCacheControl;
     }
 
+    /**
+     * Lists every item, tagged with the generation of the catalog. A request whose If-None-Match holds the
+     * current tag is answered 304 without reading the items. Served as JSON, Smile or CBOR depending on the
+     * Accept header.
+     */
     @GetMapping()
-    public ResponseEntity<List<Item>> listItems(){
-        var items = itemService.listItems();
-        return new ResponseEntity<>(items, HttpStatus.OK);
+    public ResponseEntity<List<ItemResponse>> listItems(WebRequest request){
+        // the tag is taken before the items are read, a write committed meanwhile only makes it older
+        return conditional(request, catalogGeneration.etag(), itemsCacheControl,
+                () -> itemService.listItems().stream().map(ItemResponse::of).collect(Collectors.toList()));
+    }
+
+    /**
+     * Keyset-paginated listing: {@code ?after=<cursor>&limit=<n>} plus the optional
+     * {@link ItemFilter} criteria (type, minSellIn, maxSellIn, minQuality, maxQuality).
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ItemPage<ItemResponse>> listItems(@RequestParam(required = false) Integer after,
+                                              @RequestParam int limit,
+                                              ItemFilter filter){
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        var page = itemService.listItems(filter, after, pageSize);
+        return new ResponseEntity<>(page.map(ItemResponse::of), HttpStatus.OK);
+    }
+
+    /**
+     * Streams the whole inventory as newline-delimited JSON, one item per line, optionally gzipped.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestParam(defaultValue = "false") boolean gzip){
+        return ndjson(gzip, ItemResponse.class, action -> itemService.forEachItem(item -> action.accept(ItemResponse.of(item))));
+    }
+
+    /**
+     * Streams the item changes committed after the change with seq {@code since}, in commit order and in the
+     * same format as the export, so consumers follow the inventory without exporting it again. A consumer
+     * resumes from the seq of the last change it received, 0 reads the whole log.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<StreamingResponseBody> listChanges(@RequestParam(defaultValue = "0") long since,
+                                                             @RequestParam(defaultValue = "false") boolean gzip){
+        return ndjson(gzip, ItemChange.class, action -> itemChangeService.forEachChange(since, action));
+    }
+
+    /**
+     * Streams the whole inventory as it will be after {@code days} daily updates, in the same format
+     * as the export. Stored items are not changed.
+     */
+    @GetMapping("/projection")
+    public ResponseEntity<StreamingResponseBody> projectItems(@RequestParam int days,
+                                                              @RequestParam(defaultValue = "false") boolean gzip){
+        // checked before the response starts streaming, while it can still be answered with 400
+        ItemService.checkProjectionDays(days);
+        return ndjson(gzip, ItemResponse.class,
+                action -> itemService.forEachProjectedItem(days, item -> action.accept(ItemResponse.of(item))));
     }
 
+    @GetMapping("/{id}/projection")
+    public ResponseEntity<ItemResponse> projectItem(@PathVariable int id, @RequestParam int days){
+        var item = itemService.projectItem(id, days);
+        return new ResponseEntity<>(ItemResponse.of(item), HttpStatus.OK);
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(boolean gzip, Class<T> type, Consumer<Consumer<T>> values){
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            var writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                values.accept(value -> {
+                    try {
+                        writer.writeValue(generator, value);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        var response = ResponseEntity.ok().contentType(NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Finds an item, tagged with its id and version. The version is read from the row alone, a request whose
+     * If-None-Match holds the current tag is answered 304 without loading or serializing the item.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Item> findById(@PathVariable int id){
-        var item = itemService.findById(id);
-        return new ResponseEntity<>(item, HttpStatus.OK);
+    public ResponseEntity<ItemResponse> findById(@PathVariable int id, WebRequest request){
+        int version = itemService.findVersion(id);
+        return conditional(request, "\"" + id + "-" + version + "\"", itemCacheControl,
+                () -> ItemResponse.of(itemService.findById(id, version)));
+    }
+
+    /**
+     * The tags are weak: the JSON, Smile and CBOR encodings of the items, compressed or not, all carry the
+     * same one, which only a weak tag may do.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, String cacheControl, Supplier<T> body){
+        String weakEtag = "W/" + etag;
+        if (request.checkNotModified(weakEtag)) {
+            // status and ETag are already set on the response
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(weakEtag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body.get());
     }
 
     @PostMapping
-    public ResponseEntity<Item> createItem(@Valid @RequestBody Item item){
+    public ResponseEntity<ItemResponse> createItem(@Valid @RequestBody Item item){
         Item createdItem = itemService.createItem(item);
-        return new ResponseEntity<>(createdItem, HttpStatus.CREATED);
+        return new ResponseEntity<>(ItemResponse.of(createdItem), HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ItemBatchResult>> processBatch(@RequestBody List<ItemBatchOperation> operations){
+        var results = itemBatchService.process(operations.iterator());
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    /**
+     * Same as {@link #processBatch(List)} for newline-delimited JSON, operations are read
+     * from the request body as they are processed. Each line is read on its own, so a line that is
+     * not a valid operation fails with a 400 result of its own and the following lines are still applied.
+     */
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    public ResponseEntity<List<ItemBatchResult>> processBatchStream(InputStream body) throws IOException {
+        var reader = objectMapper.readerFor(ItemBatchOperation.class);
+        try (var lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            var operations = lines.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> readOperation(reader, line))
+                    .iterator();
+            var results = itemBatchService.process(operations);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        }
+    }
+
+    private static ItemBatchOperation readOperation(ObjectReader reader, String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return ItemBatchOperation.unreadable("line could not be read: " + e.getOriginalMessage());
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Item> updateItem(@PathVariable int id,
-                                           @RequestBody Item item){
+    public ResponseEntity<ItemResponse> updateItem(@PathVariable int id,
+                                                   @RequestBody Item item){
         Item createdItem = itemService.updateItem(id, item);
-        return new ResponseEntity<>(createdItem, HttpStatus.OK);
+        return new ResponseEntity<>(ItemResponse.of(createdItem), HttpStatus.OK);
     }
 
+    /**
+     * Enqueues the quality update of a business date, today in the business zone by default, and answers
+     * right away. The job is polled through the Location header. A date that was already applied answers
+     * 200 with its recorded job instead of 202.
+     */
     @PostMapping("/quality")
-    public ResponseEntity<List<Item>> updateItemsQuality(){
-        var items = itemService.updateQuality();
-        return new ResponseEntity<>(items, HttpStatus.OK);
+    public ResponseEntity<QualityJob> updateItemsQuality(
+            @RequestParam(defaultValue = "CHUNKED") QualityUpdateMode mode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean catchUp){
+        var businessDate = date != null ? date : LocalDate.now(clock);
+        var job = qualityJobService.submit(mode, businessDate, catchUp);
+        var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQuery(null)
+                .path("/jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        boolean pending = job.getStatus() == QualityJob.Status.QUEUED || job.getStatus() == QualityJob.Status.RUNNING;
+        return ResponseEntity.status(pending ? HttpStatus.ACCEPTED : HttpStatus.OK).location(location).body(job);
+    }
+
+    @GetMapping("/quality/jobs/{id}")
+    public ResponseEntity<QualityJob> findQualityJob(@PathVariable long id){
+        var job = qualityJobService.findById(id);
+        return new ResponseEntity<>(job, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Item> deleteById(@PathVariable int id){
+    public ResponseEntity<Void> deleteById(@PathVariable int id){
         itemService.deleteById(id);
         return new ResponseEntity<>(HttpStatus.OK);
     }
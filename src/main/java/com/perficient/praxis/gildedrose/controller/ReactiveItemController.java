@@ -0,0 +1,97 @@
+package com.perficient.praxis.gildedrose.controller;
+
+import com.perficient.praxis.gildedrose.business.ReactiveItemService;
+import com.perficient.praxis.gildedrose.error.ApiError;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemResponse;
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Item API of the reactive profile, served instead of {@link ItemController} on the same paths.
+ */
+@RestController
+@RequestMapping(value = "api/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController {
+
+    private final ReactiveItemService itemService;
+    private final Clock clock;
+
+    public ReactiveItemController(ReactiveItemService itemService, Clock clock) {
+        this.itemService = itemService;
+        this.clock = clock;
+    }
+
+    /**
+     * Items are written to the response as they are read from the database.
+     */
+    @GetMapping()
+    public Flux<ItemResponse> listItems(){
+        return itemService.listItems().map(ItemResponse::of);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ItemResponse> findById(@PathVariable int id){
+        return itemService.findById(id).map(ItemResponse::of);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ItemResponse> createItem(@Valid @RequestBody Item item){
+        return itemService.createItem(item).map(ItemResponse::of);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ItemResponse> updateItem(@PathVariable int id, @RequestBody Item item){
+        return itemService.updateItem(id, item).map(ItemResponse::of);
+    }
+
+    /**
+     * Applies the quality update of a business date, today in {@code gildedrose.business-date.zone} when none
+     * is given, and answers with its job once every chunk is written. A date already applied answers with
+     * the job that applied it, like the servlet stack.
+     */
+    @PostMapping("/quality")
+    public Mono<QualityJob> updateItemsQuality(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean catchUp){
+        return itemService.updateQuality(date == null ? LocalDate.now(clock) : date, catchUp);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteById(@PathVariable int id){
+        return itemService.deleteById(id);
+    }
+
+    /**
+     * Same answer as the servlet stack gives for a write made from an outdated version.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(OptimisticLockingFailureException exception){
+        return new ResponseEntity<>(new ApiError(HttpStatus.CONFLICT, "item was changed by another update, read it again before retrying"),
+                HttpStatus.CONFLICT);
+    }
+
+}
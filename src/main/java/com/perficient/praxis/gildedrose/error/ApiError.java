@@ -1,19 +1,28 @@
 package com.perficient.praxis.gildedrose.error;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Data
-class ApiError {
+@JsonSerialize(using = ApiErrorSerializer.class)
+public class ApiError {
+
+    private static final Comparator<ApiFieldError> BY_FIELD = Comparator.comparing(ApiFieldError::getField,
+            Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(ApiFieldError::getMessage,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
 
     private HttpStatus status;
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy hh:mm:ss")
     private LocalDateTime timestamp;
     private String message;
     private String debugMessage;
+    private List<ApiFieldError> errors;
 
     private ApiError() {
         timestamp = LocalDateTime.now();
@@ -24,6 +33,12 @@ class ApiError {
         this.status = status;
     }
 
+    public ApiError(HttpStatus status, String message) {
+        this();
+        this.status = status;
+        this.message = message;
+    }
+
     ApiError(HttpStatus status, Throwable ex) {
         this();
         this.status = status;
@@ -31,10 +46,36 @@ class ApiError {
         this.debugMessage = ex.getLocalizedMessage();
     }
 
+    private ApiError(HttpStatus status, String message, List<ApiFieldError> errors) {
+        this();
+        this.status = status;
+        this.message = message;
+        this.errors = errors;
+    }
+
     ApiError(HttpStatus status, String message, Throwable ex) {
         this();
         this.status = status;
         this.message = message;
         this.debugMessage = ex.getLocalizedMessage();
     }
-}
\ No newline at end of file
+
+    /**
+     * A bad request reporting every invalid field, sorted by field. The message describes the field when there
+     * is only one.
+     */
+    public static ApiError invalidFields(List<ApiFieldError> errors) {
+        List<ApiFieldError> sorted = new ArrayList<>(errors);
+        sorted.sort(BY_FIELD);
+        String message;
+        if (sorted.isEmpty()) {
+            message = "Malformed JSON request";
+        } else if (sorted.size() == 1) {
+            message = sorted.get(0).getDescription();
+        } else {
+            message = sorted.stream().map(ApiFieldError::getField).distinct()
+                    .collect(Collectors.joining(", ", "There are issues with the fields ", ""));
+        }
+        return new ApiError(HttpStatus.BAD_REQUEST, message, sorted);
+    }
+}
@@ -0,0 +1,80 @@
+package com.perficient.praxis.gildedrose.error;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes an {@link ApiError} field by field. The timestamp keeps the {@code dd-MM-yyyy hh:mm:ss} format errors
+ * have always been answered with, hours on a 12-hour clock included, but its digits are written straight
+ * into a buffer instead of going through a formatter. The {@code errors} of a validation failure are written
+ * only when there are some.
+ */
+public class ApiErrorSerializer extends StdSerializer<ApiError> {
+
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DEBUG_MESSAGE = new SerializedString("debugMessage");
+    private static final SerializedString ERRORS = new SerializedString("errors");
+    private static final SerializedString FIELD = new SerializedString("field");
+
+    public ApiErrorSerializer() {
+        super(ApiError.class);
+    }
+
+    @Override
+    public void serialize(ApiError error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(error);
+        generator.writeFieldName(STATUS);
+        generator.writeString(error.getStatus() == null ? null : error.getStatus().name());
+        generator.writeFieldName(TIMESTAMP);
+        if (error.getTimestamp() == null) {
+            generator.writeNull();
+        } else {
+            char[] timestamp = format(error.getTimestamp());
+            generator.writeString(timestamp, 0, timestamp.length);
+        }
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(error.getMessage());
+        generator.writeFieldName(DEBUG_MESSAGE);
+        generator.writeString(error.getDebugMessage());
+        if (error.getErrors() != null) {
+            generator.writeFieldName(ERRORS);
+            generator.writeStartArray(error.getErrors(), error.getErrors().size());
+            for (ApiFieldError fieldError : error.getErrors()) {
+                generator.writeStartObject(fieldError);
+                generator.writeFieldName(FIELD);
+                generator.writeString(fieldError.getField());
+                generator.writeFieldName(MESSAGE);
+                generator.writeString(fieldError.getMessage());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    static char[] format(LocalDateTime timestamp) {
+        int hour = timestamp.getHour() % 12;
+        char[] chars = "00-00-0000 00:00:00".toCharArray();
+        writeDigits(chars, 0, timestamp.getDayOfMonth(), 2);
+        writeDigits(chars, 3, timestamp.getMonthValue(), 2);
+        writeDigits(chars, 6, timestamp.getYear(), 4);
+        writeDigits(chars, 11, hour == 0 ? 12 : hour, 2);
+        writeDigits(chars, 14, timestamp.getMinute(), 2);
+        writeDigits(chars, 17, timestamp.getSecond(), 2);
+        return chars;
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
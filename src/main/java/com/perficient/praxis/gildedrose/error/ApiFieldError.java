@@ -0,0 +1,20 @@
+package com.perficient.praxis.gildedrose.error;
+
+import lombok.Data;
+
+/**
+ * One invalid field of a request body, reported in the {@code errors} of an {@link ApiError}.
+ */
+@Data
+public class ApiFieldError {
+
+    private final String field;
+    private final String message;
+
+    /**
+     * The sentence used as the message of the error when this is its only field.
+     */
+    public String getDescription() {
+        return "There is an issue with the field " + field + ", " + message;
+    }
+}
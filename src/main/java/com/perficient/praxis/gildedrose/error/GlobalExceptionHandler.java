@@ -1,48 +1,86 @@
 package com.perficient.praxis.gildedrose.error;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final ClassValue<String> ENUM_VALUES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return "value should be one of: " + Arrays.stream(type.getEnumConstants())
+                    .map(constant -> ((Enum<?>) constant).name())
+                    .collect(Collectors.joining(", "));
+        }
+    };
 
+    /**
+     * Reports every invalid field, sorted by name. The message describes the field when there is only one.
+     */
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        AtomicReference<String> errorDescription = new AtomicReference<>("Malformed JSON request");
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errorDescription.set("There is an issue with the field " + fieldName + ", " + errorMessage);
-        });
-        return buildResponseEntity(new ApiError(HttpStatus.BAD_REQUEST, errorDescription.get(), ex));
+        List<ObjectError> errors = ex.getBindingResult().getAllErrors();
+        List<ApiFieldError> apiErrors = new ArrayList<>(errors.size());
+        for (ObjectError error : errors) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : error.getObjectName();
+            apiErrors.add(new ApiFieldError(field, error.getDefaultMessage()));
+        }
+        ApiError apiError = ApiError.invalidFields(apiErrors);
+        apiError.setDebugMessage(ex.getLocalizedMessage());
+        return buildResponseEntity(apiError);
     }
 
+    /**
+     * A value that is not one of an enum's constants is answered with the constants, listed once per enum.
+     */
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException exception, HttpHeaders headers, HttpStatus status, WebRequest request) {
 
-        Pattern ENUM_MSG = Pattern.compile("\\[([^]]+)\\]");
-        if (exception.getCause() != null && exception.getCause() instanceof InvalidFormatException) {
-            Matcher m = ENUM_MSG.matcher(exception.getCause().getMessage());
-            if (m.find()) {
-                return buildResponseEntity(new ApiError(HttpStatus.BAD_REQUEST, "value should be one of: " + m.group(1), exception));
+        if (exception.getCause() instanceof InvalidFormatException) {
+            Class<?> targetType = ((InvalidFormatException) exception.getCause()).getTargetType();
+            if (targetType != null && targetType.isEnum()) {
+                return buildResponseEntity(new ApiError(HttpStatus.BAD_REQUEST, ENUM_VALUES.get(targetType), exception));
             }
         }
         return buildResponseEntity(new ApiError(HttpStatus.BAD_REQUEST, "request could not be completed", exception));
     }
 
+    /**
+     * The item was written by someone else since the version the write was made from, the client
+     * should read it again before retrying.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+        return buildResponseEntity(new ApiError(HttpStatus.CONFLICT, "item was changed by another update, read it again before retrying", exception));
+    }
+
+    /**
+     * Every thread of the streamed responses is busy and their queue is full.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    protected ResponseEntity<Object> handleTaskRejected(TaskRejectedException exception) {
+        return buildResponseEntity(new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "too many streamed responses in progress, try again later", exception));
+    }
 
     private ResponseEntity<Object> buildResponseEntity(ApiError apiError) {
         return new ResponseEntity<>(apiError, apiError.getStatus());
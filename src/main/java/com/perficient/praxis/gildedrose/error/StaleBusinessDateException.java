@@ -0,0 +1,12 @@
+package com.perficient.praxis.gildedrose.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class StaleBusinessDateException extends RuntimeException{
+
+    public StaleBusinessDateException(String message){
+        super(message);
+    }
+}
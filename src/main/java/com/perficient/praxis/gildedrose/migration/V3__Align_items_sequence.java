@@ -0,0 +1,28 @@
+package com.perficient.praxis.gildedrose.migration;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Restarts {@code items_seq} past the ids handed out by {@code hibernate_sequence}. Hibernate reserves
+ * the {@link Item#ID_ALLOCATION_SIZE} ids up to each value it reads, so the first value has to leave
+ * a whole block above the current maximum id.
+ */
+public class V3__Align_items_sequence extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from items")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            statement.execute("alter sequence items_seq restart with " + (maxId + Item.ID_ALLOCATION_SIZE));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.perficient.praxis.gildedrose.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replaces the single row of {@code catalog_generation} with {@code catalog_generation_seq}, which writers move
+ * on without queueing on a row lock. The sequence starts past the last generation, so a tag handed out before
+ * never matches the catalog again.
+ */
+public class V8__Replace_catalog_generation_with_sequence extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long generation;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(generation), 0) from catalog_generation")) {
+                result.next();
+                generation = result.getLong(1);
+            }
+            statement.execute("create sequence catalog_generation_seq start with " + (generation + 1));
+            statement.execute("drop table catalog_generation");
+        }
+    }
+}
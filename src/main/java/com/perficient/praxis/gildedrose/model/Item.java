@@ -1,11 +1,17 @@
 package com.perficient.praxis.gildedrose.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Id;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
+import javax.persistence.Version;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
@@ -14,13 +20,27 @@ import javax.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "items")
+@DynamicUpdate
 @Data
+@JsonDeserialize(using = ItemDeserializer.class)
 public class Item {
 
+    /**
+     * Ids reserved per sequence call, so batch inserts do not query the sequence for every row.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = ID_ALLOCATION_SIZE)
     private int id;
 
+    /**
+     * Incremented by every write. A write made from an older version fails instead of overwriting
+     * the newer row, clients send back the version they read to get the same guarantee.
+     */
+    @Version
+    private Integer version;
 
     @NotBlank(message = "Name is mandatory")
     public String name;
@@ -33,6 +53,8 @@ public class Item {
     @Max(80)
     public Integer quality;
 
+    @Convert(converter = ItemTypeConverter.class)
+    @Column(columnDefinition = "smallint")
     public Type type;
 
     public Item() {
@@ -55,10 +77,36 @@ public class Item {
     }
 
     public enum Type {
-        AGED,
-        NORMAL,
-        LEGENDARY,
-        TICKETS
+        AGED(0),
+        NORMAL(1),
+        LEGENDARY(2),
+        TICKETS(3);
+
+        private static final Type[] BY_CODE = new Type[values().length];
+
+        static {
+            for (Type type : values()) {
+                BY_CODE[type.code] = type;
+            }
+        }
+
+        // stored in the database, must never change
+        private final short code;
+
+        Type(int code) {
+            this.code = (short) code;
+        }
+
+        public short getCode() {
+            return code;
+        }
+
+        public static Type fromCode(short code) {
+            if (code < 0 || code >= BY_CODE.length) {
+                throw new IllegalArgumentException("Unknown item type code " + code);
+            }
+            return BY_CODE[code];
+        }
     }
 
     @Override
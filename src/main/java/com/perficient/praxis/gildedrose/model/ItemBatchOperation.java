@@ -0,0 +1,33 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+/**
+ * One entry of a batch request. UPSERT creates the item when no id is given and updates the item
+ * with that id otherwise, DELETE removes the item with the given id.
+ */
+@Data
+public class ItemBatchOperation {
+
+    private Action action;
+    private Integer id;
+    private Item item;
+
+    /**
+     * Why the entry could not be read from the request, null when it was read.
+     */
+    @JsonIgnore
+    private String readError;
+
+    public static ItemBatchOperation unreadable(String readError) {
+        var operation = new ItemBatchOperation();
+        operation.setReadError(readError);
+        return operation;
+    }
+
+    public enum Action {
+        UPSERT,
+        DELETE
+    }
+}
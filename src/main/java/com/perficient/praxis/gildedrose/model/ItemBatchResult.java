@@ -0,0 +1,31 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.perficient.praxis.gildedrose.error.ApiError;
+import lombok.Data;
+
+/**
+ * Outcome of one entry of a batch request, {@code index} being its position in the request.
+ */
+@Data
+public class ItemBatchResult {
+
+    private final int index;
+    private final Integer id;
+    private final Status status;
+    private final ApiError error;
+
+    public static ItemBatchResult success(int index, int id, Status status) {
+        return new ItemBatchResult(index, id, status, null);
+    }
+
+    public static ItemBatchResult failure(int index, Integer id, ApiError error) {
+        return new ItemBatchResult(index, id, Status.FAILED, error);
+    }
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        FAILED
+    }
+}
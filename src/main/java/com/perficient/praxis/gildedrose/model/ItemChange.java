@@ -0,0 +1,32 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the item change log: the state an item was left in by a write, or its removal.
+ * {@code seq} orders the entries in the order their writes were committed and is the cursor a consumer
+ * resumes from. The log is compacted, only the latest entry of an item is guaranteed to be kept.
+ */
+@Data
+public class ItemChange {
+
+    private final long seq;
+    private final int itemId;
+    private final Action action;
+    private final String name;
+    private final Integer sellIn;
+    private final Integer quality;
+    private final Item.Type type;
+    private final Integer version;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private final LocalDateTime changedAt;
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,112 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads the {@link Item} of a request body token by token. Values of the expected token type are read
+ * directly, any other value goes through the standard deserializers so coercions and error messages stay
+ * the same. Unknown fields are skipped.
+ */
+public class ItemDeserializer extends StdDeserializer<Item> {
+
+    private static final Item.Type[] TYPES = Item.Type.values();
+
+    public ItemDeserializer() {
+        super(Item.class);
+    }
+
+    /**
+     * Stateless, so Jackson can keep it instead of building it again, annotations introspected, for every
+     * body it reads or checks it can read.
+     */
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    public Item deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            return (Item) context.handleUnexpectedToken(Item.class, parser);
+        }
+        Item item = new Item();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    Integer id = readInteger(parser, context);
+                    item.setId(id == null ? 0 : id);
+                    break;
+                case "version":
+                    item.setVersion(readInteger(parser, context));
+                    break;
+                case "name":
+                    item.name = readString(parser, context);
+                    break;
+                case "sellIn":
+                    item.sellIn = readInteger(parser, context);
+                    break;
+                case "quality":
+                    item.quality = readInteger(parser, context);
+                    break;
+                case "type":
+                    item.type = readType(parser, context);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return item;
+    }
+
+    private static Integer readInteger(JsonParser parser, DeserializationContext context) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue();
+            case VALUE_NULL:
+                return null;
+            default:
+                return context.readValue(parser, Integer.class);
+        }
+    }
+
+    private static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NULL:
+                return null;
+            default:
+                return context.readValue(parser, String.class);
+        }
+    }
+
+    private static Item.Type readType(JsonParser parser, DeserializationContext context) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                break;
+            case VALUE_NULL:
+                return null;
+            default:
+                return context.readValue(parser, Item.Type.class);
+        }
+        String name = parser.getText();
+        for (Item.Type type : TYPES) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return (Item.Type) context.handleWeirdStringValue(Item.Type.class, name,
+                "not one of the values accepted for Enum class: %s", Arrays.toString(TYPES));
+    }
+}
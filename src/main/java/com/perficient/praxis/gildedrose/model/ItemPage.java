@@ -0,0 +1,25 @@
+package com.perficient.praxis.gildedrose.model;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the value to send as {@code after}
+ * to get the following page, null when this is the last page.
+ */
+@Data
+public class ItemPage<T> {
+
+    private final List<T> items;
+    private final Integer nextCursor;
+
+    /**
+     * The same page with each item converted, for instance to the form it is answered in.
+     */
+    public <R> ItemPage<R> map(Function<T, R> mapper) {
+        return new ItemPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,24 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+
+/**
+ * An item as the API answers it, detached from the entity so that neither lazy loading nor a change to the
+ * mapping reaches the responses. Written by {@link ItemResponseSerializer}.
+ */
+@Data
+@JsonSerialize(using = ItemResponseSerializer.class)
+public class ItemResponse {
+
+    private final int id;
+    private final Integer version;
+    private final String name;
+    private final Integer sellIn;
+    private final Integer quality;
+    private final Item.Type type;
+
+    public static ItemResponse of(Item item) {
+        return new ItemResponse(item.getId(), item.getVersion(), item.name, item.sellIn, item.quality, item.type);
+    }
+}
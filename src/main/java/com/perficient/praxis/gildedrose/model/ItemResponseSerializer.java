@@ -0,0 +1,56 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link ItemResponse} field by field, in the order and with the names the reflective serializer
+ * of the entity used. Field names are encoded once, types are written by name.
+ */
+public class ItemResponseSerializer extends StdSerializer<ItemResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString SELL_IN = new SerializedString("sellIn");
+    private static final SerializedString QUALITY = new SerializedString("quality");
+    private static final SerializedString TYPE = new SerializedString("type");
+
+    public ItemResponseSerializer() {
+        super(ItemResponse.class);
+    }
+
+    @Override
+    public void serialize(ItemResponse item, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(item);
+        generator.writeFieldName(ID);
+        generator.writeNumber(item.getId());
+        generator.writeFieldName(VERSION);
+        writeNumber(generator, item.getVersion());
+        generator.writeFieldName(NAME);
+        generator.writeString(item.getName());
+        generator.writeFieldName(SELL_IN);
+        writeNumber(generator, item.getSellIn());
+        generator.writeFieldName(QUALITY);
+        writeNumber(generator, item.getQuality());
+        generator.writeFieldName(TYPE);
+        if (item.getType() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(item.getType().name());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
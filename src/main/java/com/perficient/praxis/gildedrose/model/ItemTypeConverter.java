@@ -0,0 +1,22 @@
+package com.perficient.praxis.gildedrose.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores {@link Item.Type} as its {@link Item.Type#getCode() code} in a smallint column,
+ * so reordering the constants does not change the stored values.
+ */
+@Converter
+public class ItemTypeConverter implements AttributeConverter<Item.Type, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Item.Type type) {
+        return type == null ? null : type.getCode();
+    }
+
+    @Override
+    public Item.Type convertToEntityAttribute(Short code) {
+        return code == null ? null : Item.Type.fromCode(code);
+    }
+}
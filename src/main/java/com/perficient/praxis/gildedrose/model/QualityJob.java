@@ -0,0 +1,112 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.perficient.praxis.gildedrose.business.QualityUpdateMode;
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A quality update run executed in the background, and the ledger entry of the business days it applies:
+ * the {@code days} days ending at {@code businessDate}. CHUNKED jobs store the id of the last
+ * item they committed, so an interrupted job resumes right after it.
+ */
+@Entity
+@Table(name = "quality_jobs", uniqueConstraints = @UniqueConstraint(columnNames = "business_date"))
+@Data
+public class QualityJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "business_date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDate businessDate;
+
+    private int days;
+
+    @Enumerated(EnumType.STRING)
+    private QualityUpdateMode mode;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Integer lastProcessedId;
+
+    private long processed;
+
+    /**
+     * Items already processed when the job last started, by the run it resumes.
+     */
+    @JsonIgnore
+    private long processedAtStart;
+
+    private long total;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime createdAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime startedAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    public QualityJob() {
+    }
+
+    public QualityJob(QualityUpdateMode mode, LocalDate businessDate, int days) {
+        this.mode = mode;
+        this.businessDate = businessDate;
+        this.days = days;
+        this.status = Status.QUEUED;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Items processed per second since the job last started, null until it starts. Items of the run a resumed
+     * job picked up from are not counted against the time of its own run.
+     */
+    public Double getItemsPerSecond() {
+        if (startedAt == null) {
+            return null;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        return (processed - processedAtStart) * 1000.0 / millis;
+    }
+
+    /**
+     * Estimated seconds left for a running job, null when it cannot be estimated yet.
+     */
+    public Long getEtaSeconds() {
+        Double rate = getItemsPerSecond();
+        if (status != Status.RUNNING || rate == null || rate == 0) {
+            return null;
+        }
+        return (long) Math.ceil(Math.max(total - processed, 0) / rate);
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,71 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Generation of the catalog, the validator of the whole listing, taken from the {@code catalog_generation_seq}
+ * sequence. Every write to the items moves it on, so it is the same for every instance sharing the database,
+ * and concurrent writers never wait on each other for it since a sequence hands out values without locks.
+ * Sequences are not transactional, so a value taken by a write is visible before the write commits and a
+ * listing read in between would be labelled with it. Writes therefore move the generation on once more after
+ * their commit: a listing is never labelled with the last generation of a write it does not show.
+ */
+@Repository
+public class CatalogGeneration {
+
+    static final String ADVANCE = "select nextval('catalog_generation_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String currentQuery;
+
+    public CatalogGeneration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Moves the generation on now, and again after the commit when there is a transaction. Must run in the
+     * transaction of the write.
+     */
+    public void advance() {
+        jdbcTemplate.queryForObject(ADVANCE, Long.class);
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            // once per transaction, however many changes it records
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    jdbcTemplate.queryForObject(ADVANCE, Long.class);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CatalogGeneration.this);
+                }
+            });
+        }
+    }
+
+    /**
+     * Entity tag of the catalog as it is now, quoted.
+     */
+    public String etag() {
+        return "\"" + jdbcTemplate.queryForObject(currentQuery(), Long.class) + "\"";
+    }
+
+    /**
+     * The last value handed out, read without taking one. Each database exposes it its own way.
+     */
+    private String currentQuery() {
+        if (currentQuery == null) {
+            currentQuery = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                            ? "select last_value from catalog_generation_seq"
+                            : "select base_value from information_schema.sequences where sequence_name = 'catalog_generation_seq'");
+        }
+        return currentQuery;
+    }
+}
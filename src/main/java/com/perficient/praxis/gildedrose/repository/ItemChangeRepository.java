@@ -0,0 +1,178 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@code item_changes} log, written over JDBC in the transaction of the change it records.
+ * Entries get their id from the database sequence when they are inserted, so two changes of the same item,
+ * which cannot be committed concurrently, are always in id order. {@link #sequencePending()} turns that into
+ * a commit order consumers can read by. Every append also moves the {@link CatalogGeneration} on, in the same
+ * transaction.
+ */
+@Repository
+public class ItemChangeRepository {
+
+    static final long SEQUENCING_LOCK_KEY = 0x4749_4C44_4348L;
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 500;
+    private static final String COLUMNS = "id, item_id, action, name, sell_in, quality, type, version, changed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogGeneration catalogGeneration;
+    private volatile Boolean advisoryLocks;
+
+    public ItemChangeRepository(JdbcTemplate jdbcTemplate, CatalogGeneration catalogGeneration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogGeneration = catalogGeneration;
+    }
+
+    /**
+     * Records the state the items were left in. Must run in the transaction that wrote them, once the
+     * write is flushed, so the versions are the written ones.
+     */
+    public void append(ItemChange.Action action, Collection<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("insert into item_changes (" + COLUMNS + ") " +
+                        "values (nextval('item_changes_seq'), ?, ?, ?, ?, ?, ?, ?, ?)",
+                items, BATCH_SIZE, (statement, item) -> {
+                    statement.setInt(1, item.getId());
+                    statement.setString(2, action.name());
+                    statement.setString(3, item.name);
+                    statement.setObject(4, item.sellIn, Types.INTEGER);
+                    statement.setObject(5, item.quality, Types.INTEGER);
+                    if (item.type == null) {
+                        statement.setNull(6, Types.SMALLINT);
+                    } else {
+                        statement.setShort(6, item.type.getCode());
+                    }
+                    statement.setObject(7, item.getVersion(), Types.INTEGER);
+                    statement.setTimestamp(8, now);
+                });
+        catalogGeneration.advance();
+    }
+
+    /**
+     * Records the removal of the items with the given ids.
+     */
+    public void appendDeleted(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("insert into item_changes (id, item_id, action, changed_at) " +
+                        "values (nextval('item_changes_seq'), ?, '" + ItemChange.Action.DELETED + "', ?)",
+                itemIds, BATCH_SIZE, (statement, itemId) -> {
+                    statement.setInt(1, itemId);
+                    statement.setTimestamp(2, now);
+                });
+        catalogGeneration.advance();
+    }
+
+    /**
+     * Records the current state of every item of the given types in a single statement, for the set-based
+     * updates that change them all without loading them.
+     *
+     * @return the number of entries recorded
+     */
+    public int appendUpdated(Collection<Item.Type> types) {
+        if (types.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        types.forEach(type -> args.add(type.getCode()));
+        int recorded = jdbcTemplate.update("insert into item_changes (" + COLUMNS + ") " +
+                "select nextval('item_changes_seq'), id, '" + ItemChange.Action.UPDATED + "', name, sell_in, quality, type, version, ? " +
+                "from items where type in (" + String.join(", ", Collections.nCopies(types.size(), "?")) + ")",
+                args.toArray());
+        catalogGeneration.advance();
+        return recorded;
+    }
+
+    /**
+     * Gives a seq to the committed entries that have none yet, following their id order and above every seq
+     * given before. Entries committed later get a higher seq in a later call, so a consumer reading past a
+     * seq never misses an entry that was not visible yet. Calls must not overlap: on PostgreSQL a transaction
+     * scoped advisory lock serializes them across instances, callers serialize them within an instance.
+     * Must run in a transaction.
+     *
+     * @return the number of entries sequenced
+     */
+    public int sequencePending() {
+        if (supportsAdvisoryLocks()) {
+            jdbcTemplate.query("select pg_advisory_xact_lock(?)", rs -> null, SEQUENCING_LOCK_KEY);
+        }
+        var range = jdbcTemplate.queryForMap("select min(id) as min_id, max(id) as max_id from item_changes where seq is null");
+        if (range.get("min_id") == null) {
+            return 0;
+        }
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+        Long lastSeq = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from item_changes", Long.class);
+        // entries committed meanwhile outside the range read above are left for the next call
+        return jdbcTemplate.update("update item_changes set seq = id + ? where seq is null and id between ? and ?",
+                lastSeq - minId + 1, minId, maxId);
+    }
+
+    /**
+     * Hands every entry with a seq greater than {@code since} to the action, in seq order, through a
+     * database cursor. Must run in a transaction.
+     */
+    public void forEachSince(long since, Consumer<ItemChange> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "select seq, " + COLUMNS + " from item_changes where seq > ? order by seq");
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, since);
+            return statement;
+        }, (ResultSet row) -> action.accept(toChange(row)));
+    }
+
+    /**
+     * Removes every entry a later entry of the same item supersedes, only the latest entry of each item is kept.
+     * Entries without a seq yet are left alone.
+     *
+     * @return the number of entries removed
+     */
+    public int compact() {
+        return jdbcTemplate.update("delete from item_changes c where c.seq is not null and exists " +
+                "(select 1 from item_changes later where later.item_id = c.item_id and later.seq > c.seq)");
+    }
+
+    private boolean supportsAdvisoryLocks() {
+        if (advisoryLocks == null) {
+            advisoryLocks = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return advisoryLocks;
+    }
+
+    private static ItemChange toChange(ResultSet row) throws SQLException {
+        short type = row.getShort("type");
+        boolean noType = row.wasNull();
+        return new ItemChange(row.getLong("seq"), row.getInt("item_id"),
+                ItemChange.Action.valueOf(row.getString("action")), row.getString("name"),
+                row.getObject("sell_in", Integer.class), row.getObject("quality", Integer.class),
+                noType ? null : Item.Type.fromCode(type),
+                row.getObject("version", Integer.class), row.getTimestamp("changed_at").toLocalDateTime());
+    }
+}
@@ -0,0 +1,17 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import lombok.Data;
+
+/**
+ * Optional criteria for item listings, every criterion left null is ignored. Ranges are inclusive.
+ */
+@Data
+public class ItemFilter {
+
+    private Item.Type type;
+    private Integer minSellIn;
+    private Integer maxSellIn;
+    private Integer minQuality;
+    private Integer maxQuality;
+}
@@ -1,9 +1,103 @@
 package com.perficient.praxis.gildedrose.repository;
 
 import com.perficient.praxis.gildedrose.model.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Integer> {
+public interface ItemRepository extends JpaRepository<Item, Integer>, ItemRepositoryCustom {
+
+    /**
+     * Keyset page of items: the first {@code pageable.getPageSize()} items with an id greater than
+     * {@code afterId} and up to {@code lastId}.
+     */
+    @Query("select i from Item i where i.id > :afterId and i.id <= :lastId order by i.id")
+    List<Item> findChunk(@Param("afterId") int afterId, @Param("lastId") int lastId, Pageable pageable);
+
+    /**
+     * Streams every item in id order through a server-side cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")})
+    @Query("select i from Item i order by i.id")
+    Stream<Item> streamAll();
+
+    @Query("select min(i.id) from Item i")
+    Integer findMinId();
+
+    @Query("select max(i.id) from Item i")
+    Integer findMaxId();
+
+    long countByIdGreaterThan(int id);
+
+    /**
+     * Version of the item, read from its row without loading the entity.
+     */
+    @Query("select i.version from Item i where i.id = :id")
+    Optional<Integer> findVersionById(@Param("id") int id);
+
+    /*
+     * The set-based updates below increment the version of every row they touch, so a concurrent
+     * write made from the version read before the update fails instead of undoing it.
+     */
+
+    /**
+     * Set-based version of the NORMAL rule: quality drops by 1 (2 once the sell by date
+     * has passed) unless the result would fall outside 0..50, and sellIn drops by 1.
+     */
+    @Modifying
+    @Query("update Item i set " +
+            "i.quality = case " +
+            "when i.sellIn < 1 and i.quality between 2 and 52 then (i.quality - 2) " +
+            "when i.sellIn >= 1 and i.quality between 1 and 51 then (i.quality - 1) " +
+            "else i.quality end, " +
+            "i.sellIn = i.sellIn - 1, " +
+            "i.version = i.version + 1 " +
+            "where i.type = com.perficient.praxis.gildedrose.model.Item$Type.NORMAL")
+    int updateNormalQuality();
+
+    /**
+     * Set-based version of the AGED rule: quality grows by 1 (2 once the sell by date
+     * has passed) unless the result would fall outside 0..50, and sellIn drops by 1.
+     */
+    @Modifying
+    @Query("update Item i set " +
+            "i.quality = case " +
+            "when i.sellIn < 1 and i.quality between -2 and 48 then (i.quality + 2) " +
+            "when i.sellIn >= 1 and i.quality between -1 and 49 then (i.quality + 1) " +
+            "else i.quality end, " +
+            "i.sellIn = i.sellIn - 1, " +
+            "i.version = i.version + 1 " +
+            "where i.type = com.perficient.praxis.gildedrose.model.Item$Type.AGED")
+    int updateAgedQuality();
+
+    /**
+     * Set-based version of the TICKETS rule: quality grows by 1, 2 or 3 depending on the
+     * 10/5 day thresholds without going over 50, drops to 0 once the concert has passed,
+     * and sellIn drops by 1.
+     */
+    @Modifying
+    @Query("update Item i set " +
+            "i.quality = case " +
+            "when i.sellIn < 1 then 0 " +
+            "when i.quality < -1 or i.quality >= 50 then i.quality " +
+            "when i.sellIn <= 5 and i.quality <= 47 then (i.quality + 3) " +
+            "when i.sellIn <= 10 and i.quality <= 48 then (i.quality + 2) " +
+            "when i.sellIn > 10 then (i.quality + 1) " +
+            "else 50 end, " +
+            "i.sellIn = i.sellIn - 1, " +
+            "i.version = i.version + 1 " +
+            "where i.type = com.perficient.praxis.gildedrose.model.Item$Type.TICKETS")
+    int updateTicketsQuality();
 }
@@ -0,0 +1,14 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.Item;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * Keyset page of items matching the filter: {@code WHERE id > afterId AND ... ORDER BY id LIMIT limit},
+     * with the filter criteria pushed down to the query.
+     */
+    List<Item> findPage(ItemFilter filter, int afterId, int limit);
+}
@@ -0,0 +1,52 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    ItemRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Item> findPage(ItemFilter filter, int afterId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Item> query = builder.createQuery(Item.class);
+        Root<Item> item = query.from(Item.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.greaterThan(item.get("id"), afterId));
+        if (filter.getType() != null) {
+            predicates.add(builder.equal(item.get("type"), filter.getType()));
+        }
+        if (filter.getMinSellIn() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(item.get("sellIn"), filter.getMinSellIn()));
+        }
+        if (filter.getMaxSellIn() != null) {
+            predicates.add(builder.lessThanOrEqualTo(item.get("sellIn"), filter.getMaxSellIn()));
+        }
+        if (filter.getMinQuality() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(item.get("quality"), filter.getMinQuality()));
+        }
+        if (filter.getMaxQuality() != null) {
+            predicates.add(builder.lessThanOrEqualTo(item.get("quality"), filter.getMaxQuality()));
+        }
+
+        query.select(item)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.asc(item.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QualityJobRepository extends JpaRepository<QualityJob, Long> {
+
+    boolean existsByStatusIn(Collection<QualityJob.Status> statuses);
+
+    List<QualityJob> findByStatusInOrderById(Collection<QualityJob.Status> statuses);
+
+    Optional<QualityJob> findByBusinessDate(LocalDate businessDate);
+
+    /**
+     * The latest ledger entry that applied, is applying, or may have partly applied its days: a failed job
+     * still holds its date once it committed items.
+     */
+    default Optional<QualityJob> findLatestApplied() {
+        return findApplied(QualityJob.Status.FAILED, PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "businessDate")))
+                .stream().findFirst();
+    }
+
+    /**
+     * The first such ledger entry ending on or after the given date, the one covering it in a catch-up.
+     */
+    default Optional<QualityJob> findFirstAppliedFrom(LocalDate businessDate) {
+        return findAppliedFrom(businessDate, QualityJob.Status.FAILED, PageRequest.of(0, 1, Sort.by("businessDate")))
+                .stream().findFirst();
+    }
+
+    @Query("select j from QualityJob j where j.status <> :failed or j.processed > 0")
+    List<QualityJob> findApplied(@Param("failed") QualityJob.Status failed, Pageable pageable);
+
+    @Query("select j from QualityJob j where j.businessDate >= :from and (j.status <> :failed or j.processed > 0)")
+    List<QualityJob> findAppliedFrom(@Param("from") LocalDate from, @Param("failed") QualityJob.Status failed,
+                                     Pageable pageable);
+
+    /**
+     * Moves the checkpoint of a job forward. Meant to run in the transaction of the chunk it records.
+     */
+    @Modifying
+    @Query("update QualityJob j set j.lastProcessedId = :lastProcessedId, j.processed = j.processed + :processed " +
+            "where j.id = :id")
+    int checkpoint(@Param("id") long id, @Param("lastProcessedId") int lastProcessedId, @Param("processed") long processed);
+
+    /**
+     * Records how a job that processed every item finished. Meant to run in the transaction of its last write.
+     */
+    @Modifying
+    @Query("update QualityJob j set j.status = :status, j.processed = j.total, j.finishedAt = :finishedAt " +
+            "where j.id = :id")
+    int finish(@Param("id") long id, @Param("status") QualityJob.Status status,
+               @Param("finishedAt") LocalDateTime finishedAt);
+}
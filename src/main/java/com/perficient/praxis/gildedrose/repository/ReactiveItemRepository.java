@@ -0,0 +1,215 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link ItemRepository} for the reactive stack, reading and writing
+ * the same {@code items} table through R2DBC.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRepository {
+
+    private static final String COLUMNS = "id, name, sell_in, quality, type, version";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveItemRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Item> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from items order by id")
+                .map(ReactiveItemRepository::toItem)
+                .all();
+    }
+
+    public Mono<Item> findById(int id) {
+        return databaseClient.sql("select " + COLUMNS + " from items where id = $1")
+                .bind(0, id)
+                .map(ReactiveItemRepository::toItem)
+                .one();
+    }
+
+    /**
+     * Keyset page of items: the first {@code limit} items with an id greater than {@code afterId}.
+     */
+    public Flux<Item> findChunk(int afterId, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from items where id > $1 order by id limit $2")
+                .bind(0, afterId)
+                .bind(1, limit)
+                .map(ReactiveItemRepository::toItem)
+                .all();
+    }
+
+    /**
+     * Inserts the item with an id taken from the sequence shared with {@link ItemRepository}.
+     */
+    public Mono<Item> insert(Item item) {
+        var spec = databaseClient.sql("insert into items (" + COLUMNS + ") values (nextval('items_seq'), $1, $2, $3, $4, 0)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind(0, item.name)
+                .bind(1, item.sellIn)
+                .bind(2, item.quality);
+        return bindType(spec, 3, item.type)
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .map(id -> {
+                    var created = new Item(id, item.name, item.sellIn, item.quality, item.type);
+                    created.setVersion(0);
+                    return created;
+                });
+    }
+
+    /**
+     * Updates the item if it is still at the version it carries, incrementing the version.
+     *
+     * @return the number of rows updated, 0 when there is no item with the id at that version
+     */
+    public Mono<Integer> update(Item item) {
+        var spec = databaseClient.sql("update items set name = $1, sell_in = $2, quality = $3, type = $4, version = version + 1 " +
+                        "where id = $5 and version = $6")
+                .bind(0, item.name)
+                .bind(1, item.sellIn)
+                .bind(2, item.quality)
+                .bind(4, item.getId())
+                .bind(5, item.getVersion());
+        return bindType(spec, 3, item.type)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Writes the quality and sellIn of the items as a single batched statement, each row only if it is
+     * still at the version the item carries.
+     *
+     * @return the items whose row was not written because it is at another version, or no longer exists
+     */
+    public Mono<List<Item>> updateQuality(List<Item> items) {
+        if (items.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(
+                    "update items set quality = $1, sell_in = $2, version = version + 1 where id = $3 and version = $4");
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Item item = items.get(i);
+                // bound by name, r2dbc-h2 only tracks the batch bindings made that way
+                statement.bind("$1", item.quality).bind("$2", item.sellIn).bind("$3", item.getId())
+                        .bind("$4", item.getVersion());
+            }
+            // one result per binding, in binding order
+            return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+        }).collectList().map(rows -> {
+            List<Item> conflicts = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i) == 0) {
+                    conflicts.add(items.get(i));
+                }
+            }
+            return conflicts;
+        });
+    }
+
+    /**
+     * @return the number of rows deleted, 0 when there is no item with the id
+     */
+    public Mono<Integer> deleteById(int id) {
+        return databaseClient.sql("delete from items where id = $1")
+                .bind(0, id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Records the state the items were left in to the change log shared with {@link ItemChangeRepository},
+     * as a single batched statement, and moves the catalog generation on. Meant to run in the transaction that
+     * wrote them.
+     */
+    public Mono<Void> appendChanges(ItemChange.Action action, List<Item> items) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement("insert into item_changes " +
+                    "(id, item_id, action, name, sell_in, quality, type, version, changed_at) " +
+                    "values (nextval('item_changes_seq'), $1, $2, $3, $4, $5, $6, $7, $8)");
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Item item = items.get(i);
+                statement.bind("$1", item.getId()).bind("$2", action.name()).bind("$3", item.name)
+                        .bind("$4", item.sellIn).bind("$5", item.quality).bind("$7", item.getVersion()).bind("$8", now);
+                if (item.type == null) {
+                    statement.bindNull("$6", Short.class);
+                } else {
+                    statement.bind("$6", item.type.getCode());
+                }
+            }
+            return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+        }).then(advanceGeneration());
+    }
+
+    /**
+     * Records the removal of the item to the change log.
+     */
+    public Mono<Void> appendDeleted(int id) {
+        return databaseClient.sql("insert into item_changes (id, item_id, action, changed_at) " +
+                        "values (nextval('item_changes_seq'), $1, '" + ItemChange.Action.DELETED + "', $2)")
+                .bind(0, id)
+                .bind(1, LocalDateTime.now())
+                .then()
+                .then(advanceGeneration());
+    }
+
+    /**
+     * Moves the {@link CatalogGeneration} on in the transaction of the change just recorded, and again once
+     * it commits, for the same reasons.
+     */
+    private Mono<Void> advanceGeneration() {
+        Mono<Void> advance = databaseClient.sql(CatalogGeneration.ADVANCE).then();
+        return advance.then(TransactionSynchronizationManager.forCurrentTransaction()
+                .doOnNext(synchronizations -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return advance;
+                    }
+                }))
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .then());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindType(DatabaseClient.GenericExecuteSpec spec, int index, Item.Type type) {
+        return type == null ? spec.bindNull(index, Short.class) : spec.bind(index, type.getCode());
+    }
+
+    private static Item toItem(Row row) {
+        Short type = row.get("type", Short.class);
+        var item = new Item(row.get("id", Integer.class), row.get("name", String.class),
+                row.get("sell_in", Integer.class), row.get("quality", Integer.class),
+                type == null ? null : Item.Type.fromCode(type));
+        item.setVersion(row.get("version", Integer.class));
+        return item;
+    }
+}
@@ -0,0 +1,33 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes of the reactive stack to the {@code quality_jobs} ledger of {@link QualityJobRepository}, made
+ * through R2DBC so they share the transaction of the items they record.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveQualityJobRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveQualityJobRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Same as {@link QualityJobRepository#checkpoint(long, int, long)}. Meant to run in the transaction of
+     * the chunk it records.
+     */
+    public Mono<Void> checkpoint(long id, int lastProcessedId, long processed) {
+        return databaseClient.sql("update quality_jobs set last_processed_id = $1, processed = processed + $2 where id = $3")
+                .bind(0, lastProcessedId)
+                .bind(1, processed)
+                .bind(2, id)
+                .then();
+    }
+}
@@ -0,0 +1,29 @@
+-- Schema as Hibernate generated it before migrations were introduced. Existing databases
+-- are baselined at version 0, so these statements only create what is missing.
+create sequence if not exists hibernate_sequence start with 1 increment by 1;
+
+create table if not exists items (
+    id integer not null,
+    name varchar(255),
+    quality integer,
+    sell_in integer,
+    type integer,
+    primary key (id)
+);
+
+create table if not exists quality_jobs (
+    id bigint not null,
+    business_date date,
+    created_at timestamp,
+    days integer not null,
+    error varchar(1000),
+    finished_at timestamp,
+    last_processed_id integer,
+    mode varchar(255),
+    processed bigint not null,
+    started_at timestamp,
+    status varchar(255),
+    total bigint not null,
+    primary key (id),
+    constraint uk_quality_jobs_business_date unique (business_date)
+);
@@ -0,0 +1,11 @@
+-- Item.Type is stored as the stable code of Item.Type (0 AGED, 1 NORMAL, 2 LEGENDARY, 3 TICKETS),
+-- the same values the ordinals had, in two bytes instead of four.
+alter table items alter column type type smallint;
+alter table items add constraint ck_items_type check (type between 0 and 3);
+
+-- filtered listings and the per type bulk updates
+create index if not exists idx_items_type_sell_in on items (type, sell_in);
+create index if not exists idx_items_quality on items (quality);
+
+-- ids are reserved 50 at a time for batch inserts, V3 moves it past the existing ids
+create sequence if not exists items_seq start with 1 increment by 50;
@@ -0,0 +1,2 @@
+-- optimistic locking: every write increments the version, a write made from an older version is rejected
+alter table items add column version integer not null default 0;
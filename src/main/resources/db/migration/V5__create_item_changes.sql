@@ -0,0 +1,22 @@
+-- append-only log of item changes, written in the transaction of the change. ids are taken when the row
+-- is inserted, seq is assigned afterwards in commit order and is the cursor consumers read from.
+create sequence if not exists item_changes_seq start with 1 increment by 1;
+
+create table if not exists item_changes (
+    id bigint not null,
+    seq bigint,
+    item_id integer not null,
+    action varchar(10) not null,
+    name varchar(255),
+    sell_in integer,
+    quality integer,
+    type smallint,
+    version integer,
+    changed_at timestamp not null,
+    primary key (id)
+);
+
+-- reads by cursor and the rows waiting for a seq (null)
+create unique index if not exists ux_item_changes_seq on item_changes (seq);
+-- compaction looks for a later change of the same item
+create index if not exists idx_item_changes_item_seq on item_changes (item_id, seq);
@@ -0,0 +1,10 @@
+-- validator of the whole catalog: moved on in the transaction of every write recorded in item_changes, so
+-- every instance sees the writes of the others
+create table if not exists catalog_generation (
+    id smallint not null,
+    generation bigint not null,
+    primary key (id),
+    constraint ck_catalog_generation_single_row check (id = 1)
+);
+
+insert into catalog_generation (id, generation) select 1, 0 where not exists (select 1 from catalog_generation);
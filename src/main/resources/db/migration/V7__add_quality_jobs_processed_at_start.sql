@@ -0,0 +1,2 @@
+-- items a job had processed when it last started, so the throughput of a resumed job covers its own run only
+alter table quality_jobs add column processed_at_start bigint not null default 0;
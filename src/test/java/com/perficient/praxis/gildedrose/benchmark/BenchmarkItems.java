@@ -0,0 +1,28 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.perficient.praxis.gildedrose.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible inventories for the benchmarks: mixed types, sellIn between -5 and 24 and quality between 0 and 50.
+ */
+final class BenchmarkItems {
+
+    private BenchmarkItems() {
+    }
+
+    static List<Item> generate(int size) {
+        var random = new Random(42);
+        var types = Item.Type.values();
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var type = types[random.nextInt(types.length)];
+            int quality = type == Item.Type.LEGENDARY ? 80 : random.nextInt(51);
+            items.add(new Item(i + 1, "item " + i, random.nextInt(30) - 5, quality, type));
+        }
+        return items;
+    }
+}
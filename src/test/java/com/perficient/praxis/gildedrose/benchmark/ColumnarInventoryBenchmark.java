@@ -0,0 +1,133 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.perficient.praxis.gildedrose.business.ColumnarInventory;
+import com.perficient.praxis.gildedrose.business.QualityRules;
+import com.perficient.praxis.gildedrose.business.rules.AgedQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.LegendaryQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.NormalQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.TicketsQualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity representation against {@link ColumnarInventory}: building the in-memory inventory and
+ * simulating 30 days on it, one day at a time. Run with {@code -prof gc} to compare the bytes allocated
+ * per inventory, {@code gc.alloc.rate.norm} divided by the size gives the bytes per item.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarInventoryBenchmark {
+
+    private static final int DAYS = 30;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private final QualityRules qualityRules = new QualityRules(List.of(
+            new NormalQualityRule(), new AgedQualityRule(), new TicketsQualityRule(), new LegendaryQualityRule()));
+
+    private int[] ids;
+    private int[] sellIns;
+    private int[] qualities;
+    private Item.Type[] types;
+
+    @Setup
+    public void setUp() {
+        var items = BenchmarkItems.generate(size);
+        ids = new int[size];
+        sellIns = new int[size];
+        qualities = new int[size];
+        types = new Item.Type[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = items.get(i).getId();
+            sellIns[i] = items.get(i).sellIn;
+            qualities[i] = items.get(i).quality;
+            types[i] = items.get(i).type;
+        }
+    }
+
+    /**
+     * Entities as Hibernate materializes them, with their own name and boxed values.
+     */
+    @Benchmark
+    public List<Item> loadEntities() {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var item = new Item();
+            item.setId(ids[i]);
+            item.name = "item " + ids[i];
+            item.sellIn = Integer.valueOf(sellIns[i]);
+            item.quality = Integer.valueOf(qualities[i]);
+            item.type = types[i];
+            items.add(item);
+        }
+        return items;
+    }
+
+    @Benchmark
+    public ColumnarInventory loadColumns() {
+        var inventory = new ColumnarInventory(size);
+        var item = new Item();
+        for (int i = 0; i < size; i++) {
+            item.setId(ids[i]);
+            item.sellIn = sellIns[i];
+            item.quality = qualities[i];
+            item.type = types[i];
+            inventory.add(item);
+        }
+        return inventory;
+    }
+
+    @Benchmark
+    public List<Item> simulateEntities(Inventories inventories) {
+        for (int day = 0; day < DAYS; day++) {
+            for (Item item : inventories.entities) {
+                qualityRules.apply(item);
+            }
+        }
+        return inventories.entities;
+    }
+
+    @Benchmark
+    public ColumnarInventory simulateColumns(Inventories inventories) {
+        for (int day = 0; day < DAYS; day++) {
+            inventories.columns.advance(qualityRules, 1);
+        }
+        return inventories.columns;
+    }
+
+    /**
+     * Fresh inventories for every simulation, so each one starts from the same items.
+     */
+    @State(Scope.Thread)
+    public static class Inventories {
+
+        private List<Item> entities;
+        private ColumnarInventory columns;
+
+        @Setup(Level.Invocation)
+        public void reset(ColumnarInventoryBenchmark benchmark) {
+            entities = benchmark.loadEntities();
+            columns = benchmark.loadColumns();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.perficient.praxis.gildedrose.GildedroseApplication;
+import com.perficient.praxis.gildedrose.business.ItemBatchService;
+import com.perficient.praxis.gildedrose.business.ItemChangeService;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemBatchOperation;
+import com.perficient.praxis.gildedrose.model.ItemBatchResult;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * What it costs a consumer to catch up with the inventory after {@code changes} items were updated: reading
+ * the changes since its last seq from {@code GET /api/items/changes} against exporting the whole catalog again
+ * from {@code GET /api/items/export}. The catalog is created through {@link ItemBatchService}, so the log holds
+ * a CREATED entry for every item besides the updates being read.
+ * <p>
+ * Runs against the PostgreSQL database given by {@code DATABASE_HOST}, {@code DATABASE_USER} and
+ * {@code DATABASE_PASSWORD}, in a {@value #SCHEMA} schema of its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ItemChangesBenchmark {
+
+    private static final String SCHEMA = "benchmark";
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"1000"})
+    private int changes;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest exportRequest;
+    private HttpRequest changesRequest;
+
+    @Setup
+    public void setUp() {
+        String host = System.getenv("DATABASE_HOST");
+        if (host == null) {
+            throw new IllegalStateException("Set DATABASE_HOST, DATABASE_USER and DATABASE_PASSWORD to a PostgreSQL database");
+        }
+        context = new SpringApplicationBuilder(GildedroseApplication.class).run(
+                "--server.port=0",
+                "--logging.level.root=warn",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.flyway.schemas=" + SCHEMA,
+                "--spring.datasource.url=jdbc:postgresql://" + host + ":5432/postgres?currentSchema=" + SCHEMA,
+                "--spring.datasource.username=" + System.getenv("DATABASE_USER"),
+                "--spring.datasource.password=" + System.getenv().getOrDefault("DATABASE_PASSWORD", ""));
+        context.getBean(ItemRepository.class).deleteAllInBatch();
+        var itemBatchService = context.getBean(ItemBatchService.class);
+        var itemChangeService = context.getBean(ItemChangeService.class);
+
+        List<Integer> ids = itemBatchService.process(BenchmarkItems.generate(size).stream()
+                        .map(item -> upsert(null, item)).iterator())
+                .stream().map(ItemBatchResult::getId).collect(Collectors.toList());
+        itemChangeService.compact();
+
+        AtomicLong since = new AtomicLong();
+        itemChangeService.forEachChange(0, change -> since.set(change.getSeq()));
+        var random = new Random(42);
+        itemBatchService.process(IntStream.range(0, changes)
+                .mapToObj(i -> {
+                    int id = ids.get(random.nextInt(ids.size()));
+                    return upsert(id, new Item(id, "item " + id, 10, random.nextInt(51), Item.Type.NORMAL));
+                }).iterator());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        exportRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/items/export")).build();
+        changesRequest = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/items/changes?since=" + since.get())).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] fullPull() throws IOException, InterruptedException {
+        return client.send(exportRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] incrementalSync() throws IOException, InterruptedException {
+        return client.send(changesRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    private static ItemBatchOperation upsert(Integer id, Item item) {
+        var operation = new ItemBatchOperation();
+        operation.setAction(ItemBatchOperation.Action.UPSERT);
+        operation.setId(id);
+        operation.setItem(item);
+        return operation;
+    }
+}
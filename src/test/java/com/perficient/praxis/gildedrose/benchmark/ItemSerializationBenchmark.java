@@ -0,0 +1,78 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.perficient.praxis.gildedrose.config.WebConfig;
+import com.perficient.praxis.gildedrose.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the {@code List<Item>} returned by {@code GET /api/items} in each format it is served in,
+ * using ObjectMappers built the same way Spring MVC builds them, optionally gzipped like the server does. The number
+ * of bytes each combination puts on the wire is printed once per fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private List<Item> items;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() throws IOException {
+        items = BenchmarkItems.generate(size);
+        ObjectMapper objectMapper;
+        switch (format) {
+            case "smile":
+                objectMapper = WebConfig.smileObjectMapper();
+                break;
+            case "cbor":
+                objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+                break;
+            default:
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        }
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Item.class));
+        System.out.printf("%d items as %s%s: %d bytes%n", size, format, gzip ? " gzipped" : "", listItems().length);
+    }
+
+    @Benchmark
+    public byte[] listItems() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            writer.writeValue(out, items);
+        }
+        return bytes.toByteArray();
+    }
+}
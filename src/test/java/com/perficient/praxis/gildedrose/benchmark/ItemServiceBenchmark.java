@@ -0,0 +1,138 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.perficient.praxis.gildedrose.business.ItemService;
+import com.perficient.praxis.gildedrose.business.QualityRules;
+import com.perficient.praxis.gildedrose.business.QualityRunLock;
+import com.perficient.praxis.gildedrose.business.QualityRunMetrics;
+import com.perficient.praxis.gildedrose.business.QualityRunSummary;
+import com.perficient.praxis.gildedrose.business.QualityUpdateMode;
+import com.perficient.praxis.gildedrose.business.rules.AgedQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.LegendaryQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.NormalQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.TicketsQualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService#updateQuality(QualityUpdateMode)} in PER_ITEM mode against an in-memory stand-in of
+ * {@link ItemRepository}, so the numbers show the service overhead without any database round trip.
+ * Transactions, the change log, the run lock and the cache are no-ops for the same reason.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private List<Item> template;
+    private List<Item> items;
+    private ItemService itemService;
+
+    @Setup
+    public void setUp() {
+        template = BenchmarkItems.generate(size);
+        var qualityRules = new QualityRules(List.of(
+                new NormalQualityRule(), new AgedQualityRule(), new TicketsQualityRule(), new LegendaryQualityRule()));
+        itemService = new ItemService(inMemoryRepository(), noChangeLog(), null, qualityRules, null, null, null,
+                new NoOpCacheManager(), new QualityRunMetrics(new SimpleMeterRegistry()), noLock(), noTransactions());
+    }
+
+    @Setup(Level.Invocation)
+    public void resetItems() {
+        items = new ArrayList<>(size);
+        for (Item item : template) {
+            items.add(new Item(item.getId(), item.name, item.sellIn, item.quality, item.type));
+        }
+    }
+
+    @Benchmark
+    public QualityRunSummary updateQuality() {
+        return itemService.updateQuality(QualityUpdateMode.PER_ITEM);
+    }
+
+    /**
+     * Only the methods used by the per-item update are supported: findAll returns the current items
+     * and save hands the item back, like the JPA repository does for managed entities.
+     */
+    private ItemRepository inMemoryRepository() {
+        return (ItemRepository) Proxy.newProxyInstance(ItemRepository.class.getClassLoader(),
+                new Class<?>[]{ItemRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAll":
+                            return items;
+                        case "save":
+                            return args[0];
+                        case "flush":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static ItemChangeRepository noChangeLog() {
+        return new ItemChangeRepository(null, null) {
+            @Override
+            public void append(ItemChange.Action action, Collection<Item> items) {
+            }
+        };
+    }
+
+    private static QualityRunLock noLock() {
+        return new QualityRunLock(null) {
+            @Override
+            public Handle tryAcquire() {
+                return () -> { };
+            }
+        };
+    }
+
+    private static PlatformTransactionManager noTransactions() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+}
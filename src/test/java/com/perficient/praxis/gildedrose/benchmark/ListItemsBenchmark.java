@@ -0,0 +1,106 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.perficient.praxis.gildedrose.GildedroseApplication;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/items} end to end, over HTTP, with the MVC stack and with the reactive profile. The GC
+ * profiler enabled by the benchmark profile reports the memory side: {@code gc.alloc.rate.norm} is the memory
+ * allocated per request by every thread of the JVM, server threads included.
+ * <p>
+ * Both stacks run against the PostgreSQL database given by {@code DATABASE_HOST}, {@code DATABASE_USER} and
+ * {@code DATABASE_PASSWORD}, in a {@value #SCHEMA} schema of their own. The in-memory database of the tests
+ * is not an option: its R2DBC driver blocks the event loops, which stalls the reactive stack under
+ * concurrent requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ListItemsBenchmark {
+
+    private static final String SCHEMA = "benchmark";
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        String host = System.getenv("DATABASE_HOST");
+        if (host == null) {
+            throw new IllegalStateException("Set DATABASE_HOST, DATABASE_USER and DATABASE_PASSWORD to a PostgreSQL database");
+        }
+        String user = System.getenv("DATABASE_USER");
+        String password = System.getenv().getOrDefault("DATABASE_PASSWORD", "");
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--logging.level.root=warn",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.flyway.schemas=" + SCHEMA,
+                "--spring.datasource.url=jdbc:postgresql://" + host + ":5432/postgres?currentSchema=" + SCHEMA,
+                "--spring.datasource.username=" + user,
+                "--spring.datasource.password=" + password));
+        if (stack.equals("reactive")) {
+            args.add("--spring.profiles.active=reactive");
+            args.add("--spring.r2dbc.url=r2dbc:postgresql://" + host + ":5432/postgres?schema=" + SCHEMA);
+            args.add("--spring.r2dbc.username=" + user);
+            args.add("--spring.r2dbc.password=" + password);
+        }
+        context = new SpringApplicationBuilder(GildedroseApplication.class).run(args.toArray(new String[0]));
+        List<Item> items = BenchmarkItems.generate(size);
+        items.forEach(item -> item.setId(0));
+        var itemRepository = context.getBean(ItemRepository.class);
+        itemRepository.deleteAllInBatch();
+        itemRepository.saveAll(items);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/items")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listItems() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
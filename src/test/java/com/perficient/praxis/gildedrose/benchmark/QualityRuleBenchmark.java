@@ -0,0 +1,81 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.perficient.praxis.gildedrose.business.LegacyQualityRules;
+import com.perficient.praxis.gildedrose.business.QualityRules;
+import com.perficient.praxis.gildedrose.business.rules.AgedQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.LegendaryQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.NormalQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.TicketsQualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one pass of the daily rules over an in-memory inventory: the original if-chain against
+ * the {@link QualityRules} engine. Both benchmarks restore the initial sellIn and quality before
+ * applying the rules, so every invocation sees the same mix of items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QualityRuleBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private final QualityRules qualityRules = new QualityRules(List.of(
+            new NormalQualityRule(), new AgedQualityRule(), new TicketsQualityRule(), new LegendaryQualityRule()));
+
+    private Item[] items;
+    private int[] sellIns;
+    private int[] qualities;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkItems.generate(size).toArray(new Item[0]);
+        sellIns = new int[size];
+        qualities = new int[size];
+        for (int i = 0; i < size; i++) {
+            sellIns[i] = items[i].sellIn;
+            qualities[i] = items[i].quality;
+        }
+    }
+
+    @Benchmark
+    public Item[] ifChain() {
+        for (int i = 0; i < size; i++) {
+            LegacyQualityRules.apply(reset(i));
+        }
+        return items;
+    }
+
+    @Benchmark
+    public Item[] ruleEngine() {
+        for (int i = 0; i < size; i++) {
+            qualityRules.apply(reset(i));
+        }
+        return items;
+    }
+
+    private Item reset(int i) {
+        Item item = items[i];
+        item.sellIn = sellIns[i];
+        item.quality = qualities[i];
+        return item;
+    }
+}
@@ -0,0 +1,94 @@
+package com.perficient.praxis.gildedrose.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.perficient.praxis.gildedrose.error.ApiError;
+import com.perficient.praxis.gildedrose.model.ItemResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput of the JSON written for the listing, a single item and an error response, with the hand-written
+ * serializers of {@link ItemResponse} and {@link ApiError} and with the reflective bean serializer Jackson would
+ * use without them. Both write the same bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializerBenchmark {
+
+    @Param({"reflective", "streaming"})
+    private String serializer;
+
+    private List<ItemResponse> items;
+    private ItemResponse item;
+    private ApiError error;
+    private ObjectWriter listWriter;
+    private ObjectWriter itemWriter;
+    private ObjectWriter errorWriter;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkItems.generate(10000).stream().map(ItemResponse::of).collect(Collectors.toList());
+        item = items.get(0);
+        error = new ApiError(HttpStatus.NOT_FOUND, "item not found");
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (serializer.equals("reflective")) {
+            builder.mixIn(ItemResponse.class, ReflectiveItemResponse.class)
+                    .mixIn(ApiError.class, ReflectiveApiError.class);
+        }
+        ObjectMapper objectMapper = builder.build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ItemResponse.class));
+        itemWriter = objectMapper.writerFor(ItemResponse.class);
+        errorWriter = objectMapper.writerFor(ApiError.class);
+    }
+
+    @Benchmark
+    public byte[] listItems() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] findItem() throws JsonProcessingException {
+        return itemWriter.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] error() throws JsonProcessingException {
+        return errorWriter.writeValueAsBytes(error);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class ReflectiveItemResponse {
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class ReflectiveApiError {
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy hh:mm:ss")
+        private LocalDateTime timestamp;
+    }
+}
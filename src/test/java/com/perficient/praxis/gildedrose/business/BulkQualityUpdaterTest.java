@@ -0,0 +1,70 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class BulkQualityUpdaterTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN items of every type covering the sell by date, the ticket thresholds and the quality limits
+     * WHEN updateQuality is called in BULK mode
+     * THEN every item should end with the same sellIn and quality as with the PER_ITEM mode
+     */
+    public void testBulkModeMatchesPerItemMode(){
+
+        var items = itemRepository.saveAll(sampleItems());
+
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
+        var expected = snapshot();
+        itemRepository.deleteAllInBatch();
+        itemRepository.saveAll(sampleItems());
+        var summary = itemService.updateQuality(QualityUpdateMode.BULK);
+
+        assertEquals(expected, snapshot());
+        assertEquals(items.size() / 4 * 3, summary.getRowsProcessed());
+    }
+
+    private List<Item> sampleItems(){
+        List<Item> items = new ArrayList<>();
+        int[] qualities = {0, 1, 2, 3, 47, 48, 49, 50, 51, 52, 53, 80};
+        for (Item.Type type : Item.Type.values()) {
+            for (int sellIn = -2; sellIn <= 12; sellIn++) {
+                for (int quality : qualities) {
+                    items.add(new Item(0, type + " " + sellIn + "/" + quality, sellIn, quality, type));
+                }
+            }
+        }
+        return items;
+    }
+
+    private List<String> snapshot(){
+        List<String> rows = new ArrayList<>();
+        itemRepository.findAll().stream()
+                .sorted((a, b) -> Integer.compare(a.getId(), b.getId()))
+                .forEach(item -> rows.add(item.name + " -> " + item.sellIn + "/" + item.quality));
+        return rows;
+    }
+}
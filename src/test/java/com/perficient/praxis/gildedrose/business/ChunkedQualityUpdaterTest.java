@@ -0,0 +1,120 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "gildedrose.quality.chunk-size=7")
+public class ChunkedQualityUpdaterTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @SpyBean
+    private QualityRules qualityRules;
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN more items than fit in a single chunk
+     * WHEN updateQuality is called in CHUNKED mode
+     * THEN every item should end with the same sellIn and quality as with the PER_ITEM mode
+     * and the summary should count every item by type
+     */
+    public void testChunkedModeMatchesPerItemMode(){
+
+        var items = itemRepository.saveAll(sampleItems());
+
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
+        var expected = snapshot();
+        itemRepository.deleteAllInBatch();
+        itemRepository.saveAll(sampleItems());
+        var summary = itemService.updateQuality(QualityUpdateMode.CHUNKED);
+
+        assertEquals(expected, snapshot());
+        assertEquals(items.size(), summary.getRowsProcessed());
+        assertEquals(items.size() / 4, summary.getItemsByType().get(Item.Type.TICKETS));
+    }
+
+    @Test
+    /**
+     * GIVEN an empty inventory
+     * WHEN updateQuality is called in CHUNKED mode
+     * THEN the summary should report no processed rows
+     */
+    public void testChunkedModeWithoutItems(){
+
+        var summary = itemService.updateQuality(QualityUpdateMode.CHUNKED);
+
+        assertEquals(0, summary.getRowsProcessed());
+        assertEquals(QualityUpdateMode.CHUNKED, summary.getMode());
+    }
+
+    @Test
+    /**
+     * GIVEN an item a client updates after the CHUNKED run read it and before the run writes it
+     * WHEN updateQuality is called in CHUNKED mode
+     * THEN the run should apply the day to the item as the client left it instead of overwriting it
+     * and the summary should count the conflict
+     */
+    public void testChunkedModeRetriesItemsUpdatedMeanwhile(){
+
+        var item = itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        var updated = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (updated.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() ->
+                        itemService.updateItem(item.getId(), new Item(0, "Oreo", 10, 20, Item.Type.NORMAL))).join();
+            }
+            return invocation.callRealMethod();
+        }).when(qualityRules).apply(any(Item.class), anyInt(), any());
+
+        var summary = itemService.updateQuality(QualityUpdateMode.CHUNKED);
+
+        var stored = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(19, stored.quality);
+        assertEquals(9, stored.sellIn);
+        assertEquals(1, summary.getConflicts());
+        assertEquals(1, summary.getRowsProcessed());
+    }
+
+    private List<Item> sampleItems(){
+        List<Item> items = new ArrayList<>();
+        for (Item.Type type : Item.Type.values()) {
+            for (int sellIn = -1; sellIn <= 11; sellIn++) {
+                items.add(new Item(0, type + " " + sellIn, sellIn, 48, type));
+            }
+        }
+        return items;
+    }
+
+    private List<String> snapshot(){
+        List<String> rows = new ArrayList<>();
+        itemRepository.findAll().stream()
+                .sorted((a, b) -> Integer.compare(a.getId(), b.getId()))
+                .forEach(item -> rows.add(item.name + " -> " + item.sellIn + "/" + item.quality));
+        return rows;
+    }
+}
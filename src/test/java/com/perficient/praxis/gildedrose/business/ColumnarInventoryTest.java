@@ -0,0 +1,67 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.business.rules.AgedQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.LegendaryQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.NormalQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.TicketsQualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ColumnarInventoryTest {
+
+    private final QualityRules qualityRules = new QualityRules(List.of(
+            new NormalQualityRule(), new AgedQualityRule(), new TicketsQualityRule(), new LegendaryQualityRule()));
+
+    @Test
+    /**
+     * GIVEN items of every type, and without type, added in mixed order
+     * WHEN one and then three days are applied to the columns
+     * THEN every row should match the rules applied to the entities
+     * and only the rows that changed should be dirty
+     */
+    public void testAdvanceMatchesEntityRules(){
+
+        List<Item> items = new ArrayList<>();
+        int id = 1;
+        for (int sellIn = -3; sellIn <= 12; sellIn++) {
+            for (int quality = 0; quality <= 52; quality += 4) {
+                for (Item.Type type : Item.Type.values()) {
+                    items.add(new Item(id++, "item", sellIn, quality, type));
+                }
+                items.add(new Item(id++, "untyped", sellIn, quality, null));
+            }
+        }
+        var inventory = new ColumnarInventory(4);
+        items.forEach(inventory::add);
+
+        inventory.advance(qualityRules, 1);
+        inventory.advance(qualityRules, 3);
+        Map<Integer, Item> expected = new HashMap<>();
+        for (Item item : items) {
+            qualityRules.apply(item, null);
+            qualityRules.apply(item, 3, null);
+            expected.put(item.getId(), item);
+        }
+
+        assertEquals(items.size(), inventory.size());
+        int dirty = 0;
+        for (int row = 0; row < inventory.size(); row++) {
+            var item = expected.get(inventory.id(row));
+            assertEquals(item.type, inventory.type(row));
+            assertEquals(item.sellIn, inventory.sellIn(row));
+            assertEquals(item.quality, inventory.quality(row));
+            boolean touched = item.type != null && item.type != Item.Type.LEGENDARY;
+            assertEquals(touched, inventory.isDirty(row), item.toString());
+            dirty += touched ? 1 : 0;
+        }
+        assertEquals(dirty, inventory.dirtyCount());
+    }
+}
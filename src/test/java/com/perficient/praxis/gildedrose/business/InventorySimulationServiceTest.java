@@ -0,0 +1,100 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.business.rules.QualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "gildedrose.quality.chunk-size=2")
+public class InventorySimulationServiceTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private QualityRules qualityRules;
+
+    @Autowired
+    private InventorySimulationService inventorySimulationService;
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN normal, aged and legendary items in the database
+     * WHEN the inventory is loaded, advanced two days and written back
+     * THEN only the changed items should be written, with their simulated values
+     */
+    public void testWriteBackPersistsChangedRows(){
+
+        var items = itemRepository.saveAll(List.of(
+                new Item(0, "Oreo", 5, 10, Item.Type.NORMAL),
+                new Item(0, "Wine", 0, 20, Item.Type.AGED),
+                new Item(0, "Sulfuras", 5, 80, Item.Type.LEGENDARY),
+                new Item(0, "Bread", 1, 0, Item.Type.NORMAL)));
+
+        var inventory = inventorySimulationService.load();
+        inventory.advance(qualityRules, 2);
+        var result = inventorySimulationService.writeBack(inventory);
+
+        assertEquals(3, result.getWritten());
+        assertEquals(List.of(), result.getConflicts());
+        assertEquals(0, inventory.dirtyCount());
+        assertEquals(8, itemRepository.findById(items.get(0).getId()).get().quality);
+        assertEquals(24, itemRepository.findById(items.get(1).getId()).get().quality);
+        assertEquals(-2, itemRepository.findById(items.get(1).getId()).get().sellIn);
+        assertEquals(80, itemRepository.findById(items.get(2).getId()).get().quality);
+        assertEquals(QualityRule.MIN_QUALITY, itemRepository.findById(items.get(3).getId()).get().quality);
+    }
+
+    @Test
+    /**
+     * GIVEN a loaded inventory, after which one item is updated and another deleted by other writes
+     * WHEN the inventory is advanced a day and written back, then advanced and written back again
+     * THEN the newer values should be kept and reported as conflicts, and the second write back
+     * should go over the versions the first one wrote
+     */
+    public void testWriteBackKeepsRowsWrittenSinceLoad(){
+
+        var items = itemRepository.saveAll(List.of(
+                new Item(0, "Oreo", 5, 10, Item.Type.NORMAL),
+                new Item(0, "Bread", 5, 10, Item.Type.NORMAL),
+                new Item(0, "Milk", 5, 10, Item.Type.NORMAL)));
+
+        var inventory = inventorySimulationService.load();
+        var bread = itemRepository.findById(items.get(1).getId()).get();
+        bread.quality = 40;
+        itemRepository.save(bread);
+        itemRepository.deleteById(items.get(2).getId());
+
+        inventory.advance(qualityRules, 1);
+        var result = inventorySimulationService.writeBack(inventory);
+
+        assertEquals(1, result.getWritten());
+        assertEquals(Set.of(items.get(1).getId(), items.get(2).getId()), Set.copyOf(result.getConflicts()));
+        assertEquals(9, itemRepository.findById(items.get(0).getId()).get().quality);
+        assertEquals(40, itemRepository.findById(items.get(1).getId()).get().quality);
+        assertEquals(5, itemRepository.findById(items.get(1).getId()).get().sellIn);
+
+        inventory.advance(qualityRules, 1);
+        var again = inventorySimulationService.writeBack(inventory);
+
+        assertEquals(8, itemRepository.findById(items.get(0).getId()).get().quality);
+        assertTrue(again.getConflicts().contains(items.get(1).getId()));
+        assertFalse(again.getConflicts().contains(items.get(0).getId()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.error.ApiFieldError;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemBatchOperation;
+import com.perficient.praxis.gildedrose.model.ItemBatchResult;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "gildedrose.batch.chunk-size=2")
+public class ItemBatchServiceTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemBatchService itemBatchService;
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN a batch mixing creations, updates, deletes and invalid entries across several chunks
+     * WHEN the batch is processed
+     * THEN valid entries should be saved and every entry should get its own result
+     */
+    public void testProcessMixedBatch(){
+
+        var existing = itemRepository.saveAll(List.of(
+                new Item(0, "Oreo", 10, 30, Item.Type.NORMAL),
+                new Item(0, "Wine", 5, 20, Item.Type.AGED)));
+        int oreoId = existing.get(0).getId();
+        int wineId = existing.get(1).getId();
+
+        var results = itemBatchService.process(List.of(
+                upsert(null, new Item(0, "Beer", 3, 10, Item.Type.AGED)),
+                upsert(oreoId, new Item(0, "Oreo", 9, 29, Item.Type.NORMAL)),
+                upsert(null, new Item(0, "", 3, 10, Item.Type.AGED)),
+                delete(wineId),
+                delete(-1)).iterator());
+
+        assertEquals(List.of(ItemBatchResult.Status.CREATED, ItemBatchResult.Status.UPDATED,
+                        ItemBatchResult.Status.FAILED, ItemBatchResult.Status.DELETED, ItemBatchResult.Status.FAILED),
+                results.stream().map(ItemBatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals(HttpStatus.BAD_REQUEST, results.get(2).getError().getStatus());
+        assertEquals("There is an issue with the field name, Name is mandatory", results.get(2).getError().getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, results.get(4).getError().getStatus());
+        assertEquals(29, itemRepository.findById(oreoId).orElseThrow().quality);
+        assertFalse(itemRepository.existsById(wineId));
+        assertEquals("Beer", itemRepository.findById(results.get(0).getId()).orElseThrow().name);
+    }
+
+    @Test
+    /**
+     * GIVEN a chunk deleting a missing item and creating an item whose name does not fit its column
+     * WHEN the batch is processed
+     * THEN the delete should keep its not found result and the creation should fail with the chunk
+     */
+    public void testFailedChunkKeepsEntryErrors(){
+
+        var results = itemBatchService.process(List.of(
+                delete(-1),
+                upsert(null, new Item(0, "O".repeat(300), 3, 10, Item.Type.NORMAL))).iterator());
+
+        assertEquals(HttpStatus.NOT_FOUND, results.get(0).getError().getStatus());
+        assertEquals(ItemBatchResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, results.get(1).getError().getStatus());
+        assertEquals("chunk could not be saved", results.get(1).getError().getMessage());
+        assertNull(results.get(1).getError().getDebugMessage());
+        assertEquals(0, itemRepository.count());
+    }
+
+    @Test
+    /**
+     * GIVEN a batch with a null entry and an entry with two invalid fields
+     * WHEN the batch is processed
+     * THEN the null entry should fail without an id and the invalid one should report both fields sorted
+     */
+    public void testProcessNullAndInvalidEntries(){
+
+        var results = itemBatchService.process(Arrays.asList(
+                null,
+                upsert(null, new Item(0, "", 3, 90, Item.Type.AGED)),
+                upsert(null, new Item(0, "Beer", 3, 10, Item.Type.AGED))).iterator());
+
+        assertEquals(ItemBatchResult.Status.FAILED, results.get(0).getStatus());
+        assertNull(results.get(0).getId());
+        assertEquals("action is mandatory", results.get(0).getError().getMessage());
+        var error = results.get(1).getError();
+        assertEquals("There are issues with the fields name, quality", error.getMessage());
+        assertEquals(List.of("name", "quality"),
+                error.getErrors().stream().map(ApiFieldError::getField).collect(Collectors.toList()));
+        assertEquals(ItemBatchResult.Status.CREATED, results.get(2).getStatus());
+        assertEquals(1, itemRepository.count());
+    }
+
+    private ItemBatchOperation upsert(Integer id, Item item){
+        var operation = new ItemBatchOperation();
+        operation.setAction(ItemBatchOperation.Action.UPSERT);
+        operation.setId(id);
+        operation.setItem(item);
+        return operation;
+    }
+
+    private ItemBatchOperation delete(int id){
+        var operation = new ItemBatchOperation();
+        operation.setAction(ItemBatchOperation.Action.DELETE);
+        operation.setId(id);
+        return operation;
+    }
+}
@@ -0,0 +1,69 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+public class ItemCacheTest {
+
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    /**
+     * GIVEN an item already read once
+     * WHEN findById is called again, then the item is updated and read once more
+     * THEN the second read should come from the cache and the last one should return the updated item
+     */
+    public void testFindByIdIsCachedAndRefreshedOnUpdate(){
+
+        var item = new Item(1, "Oreo", 10, 30, Item.Type.NORMAL);
+        var updated = new Item(1, "Oreo", 9, 29, Item.Type.NORMAL);
+        when(itemRepository.findById(1)).thenReturn(Optional.of(item));
+        when(itemRepository.save(any())).thenReturn(updated);
+
+        itemService.findById(1);
+        itemService.findById(1);
+        verify(itemRepository, times(1)).findById(1);
+
+        itemService.updateItem(1, updated);
+        assertEquals(updated, itemService.findById(1));
+        verify(itemRepository, times(2)).findById(1);
+    }
+
+    @Test
+    /**
+     * GIVEN an item already read once
+     * WHEN the quality update runs
+     * THEN the next read should go to the repository again
+     */
+    public void testQualityUpdateClearsTheCache(){
+
+        var item = new Item(2, "Wine", 10, 30, Item.Type.AGED);
+        when(itemRepository.findById(2)).thenReturn(Optional.of(item));
+        when(itemRepository.findAll()).thenReturn(List.of());
+
+        itemService.findById(2);
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
+        itemService.findById(2);
+
+        verify(itemRepository, times(2)).findById(2);
+    }
+}
@@ -0,0 +1,99 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class ItemChangeServiceTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemChangeService itemChangeService;
+
+    private long since;
+
+    @BeforeEach
+    public void setUp(){
+        // the log is shared with the other tests, only what a test writes is looked at
+        since = changesSince(0).stream().mapToLong(ItemChange::getSeq).max().orElse(0);
+    }
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN an item created, updated, moved by a BULK quality run and deleted
+     * WHEN the changes since before the creation are read
+     * THEN every write should be there in order with the state it left the item in
+     * and reading from the last seq should return nothing
+     */
+    public void testChangesAreRecordedInCommitOrder(){
+
+        var created = itemService.createItem(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        int id = created.getId();
+        itemService.updateItem(id, new Item(0, "Oreo", 10, 25, Item.Type.NORMAL));
+        itemService.updateQuality(QualityUpdateMode.BULK);
+        itemService.deleteById(id);
+
+        var changes = changesSince(since);
+
+        assertEquals(List.of(ItemChange.Action.CREATED, ItemChange.Action.UPDATED, ItemChange.Action.UPDATED, ItemChange.Action.DELETED),
+                changes.stream().map(ItemChange::getAction).collect(Collectors.toList()));
+        assertTrue(changes.stream().allMatch(change -> change.getItemId() == id));
+        assertEquals(List.of(30, 25, 24), changes.subList(0, 3).stream().map(ItemChange::getQuality).collect(Collectors.toList()));
+        assertEquals(List.of(0, 1, 2), changes.subList(0, 3).stream().map(ItemChange::getVersion).collect(Collectors.toList()));
+        assertEquals(9, changes.get(2).getSellIn());
+        assertEquals(List.of(), changesSince(changes.get(3).getSeq()));
+    }
+
+    @Test
+    /**
+     * GIVEN two items changed several times, one by a CHUNKED quality run
+     * WHEN the log is compacted
+     * THEN only the latest change of each item should be left
+     */
+    public void testCompactionKeepsTheLatestChangeOfEachItem(){
+
+        var oreo = itemService.createItem(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        var wine = itemService.createItem(new Item(0, "Wine", 5, 20, Item.Type.AGED));
+        itemService.updateItem(oreo.getId(), new Item(0, "Oreo", 10, 25, Item.Type.NORMAL));
+        itemService.updateQuality(QualityUpdateMode.CHUNKED);
+
+        int removed = itemChangeService.compact();
+
+        var changes = changesSince(since);
+        assertTrue(removed >= 3);
+        assertEquals(2, changes.size());
+        assertEquals(List.of(oreo.getId(), wine.getId()), changes.stream().map(ItemChange::getItemId).sorted().collect(Collectors.toList()));
+        assertTrue(changes.stream().allMatch(change -> change.getAction() == ItemChange.Action.UPDATED));
+        assertEquals(List.of(24, 21), List.of(changes.get(0).getQuality(), changes.get(1).getQuality()));
+    }
+
+    private List<ItemChange> changesSince(long seq){
+        List<ItemChange> changes = new ArrayList<>();
+        itemChangeService.forEachChange(seq, changes::add);
+        return changes;
+    }
+}
@@ -1,9 +1,12 @@
 package com.perficient.praxis.gildedrose.business;
 
+import com.perficient.praxis.gildedrose.error.BadRequestException;
 import com.perficient.praxis.gildedrose.error.ResourceNotFoundException;
 import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemFilter;
 import com.perficient.praxis.gildedrose.repository.ItemRepository;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,8 +14,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -26,6 +31,11 @@ public class ItemServiceTest {
     @Autowired
     private ItemService itemService;
 
+    @BeforeEach
+    public void setUp(){
+        // like the real repository, the service records the item save returns in the change log
+        when(itemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
 
     @Test
     public void testGetItemByIdWhenItemWasNotFound(){
@@ -58,13 +68,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Oreo", 10, 30, Item.Type.NORMAL);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Oro", itemsUpdated.get(0).name);
-        assertEquals(9, itemsUpdated.get(0).sellIn);
-        assertEquals(29, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.NORMAL, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Oro", item.name);
+        assertEquals(9, item.sellIn);
+        assertEquals(29, item.quality);
+        assertEquals(Item.Type.NORMAL, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -81,13 +91,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Bad Bunny Ticket", 2, 30, Item.Type.TICKETS);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Bad Bunny Ticket", itemsUpdated.get(0).name);
-        assertEquals(1, itemsUpdated.get(0).sellIn);
-        assertEquals(33, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.TICKETS, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Bad Bunny Ticket", item.name);
+        assertEquals(1, item.sellIn);
+        assertEquals(33, item.quality);
+        assertEquals(Item.Type.TICKETS, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -105,13 +115,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Jamming Ticket", 0, 30, Item.Type.TICKETS);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Jamming Ticket", itemsUpdated.get(0).name);
-        assertEquals(-1, itemsUpdated.get(0).sellIn);
-        assertEquals(0, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.TICKETS, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Jamming Ticket", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(0, item.quality);
+        assertEquals(Item.Type.TICKETS, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -128,13 +138,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Chocorramo", 0, 30, Item.Type.NORMAL);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Chocorramo", itemsUpdated.get(0).name);
-        assertEquals(-1, itemsUpdated.get(0).sellIn);
-        assertEquals(28, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.NORMAL, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Chocorramo", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(28, item.quality);
+        assertEquals(Item.Type.NORMAL, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -151,13 +161,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Wine", 0, 20, Item.Type.AGED);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Wine", itemsUpdated.get(0).name);
-        assertEquals(-1, itemsUpdated.get(0).sellIn);
-        assertEquals(22, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.AGED, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Wine", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(22, item.quality);
+        assertEquals(Item.Type.AGED, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -168,20 +178,21 @@ public class ItemServiceTest {
      * THEN the service should update the values but this scenario it is not a valid case,so the values do not change
      * sellIn should stay the same
      * quality should stay the same
+     * and the unchanged item should not be saved
      */
     public void testUpdateQualityOfLegendaryTypeItemWIthNegativeSellIn(){
 
         var item = new Item(0, "1980 Wine", 0, 80, Item.Type.LEGENDARY);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("1980 Wine", itemsUpdated.get(0).name);
-        assertEquals(0, itemsUpdated.get(0).sellIn);
-        assertEquals(80, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.LEGENDARY, itemsUpdated.get(0).type);
-        verify(itemRepository,times(1)).save(any());
+        assertEquals(0, item.getId());
+        assertEquals("1980 Wine", item.name);
+        assertEquals(0, item.sellIn);
+        assertEquals(80, item.quality);
+        assertEquals(Item.Type.LEGENDARY, item.type);
+        verify(itemRepository,never()).save(any());
     }
 
 
@@ -198,13 +209,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Milk", 10, 0, Item.Type.NORMAL);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Milk", itemsUpdated.get(0).name);
-        assertEquals(9, itemsUpdated.get(0).sellIn);
-        assertEquals(0, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.NORMAL, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Milk", item.name);
+        assertEquals(9, item.sellIn);
+        assertEquals(0, item.quality);
+        assertEquals(Item.Type.NORMAL, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -221,13 +232,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Gorillaz Ticket", 12, 40, Item.Type.TICKETS);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Gorillaz Ticket", itemsUpdated.get(0).name);
-        assertEquals(11, itemsUpdated.get(0).sellIn);
-        assertEquals(41, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.TICKETS, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Gorillaz Ticket", item.name);
+        assertEquals(11, item.sellIn);
+        assertEquals(41, item.quality);
+        assertEquals(Item.Type.TICKETS, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -244,13 +255,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Coldplay Ticket", 7, 40, Item.Type.TICKETS);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Coldplay Ticket", itemsUpdated.get(0).name);
-        assertEquals(6, itemsUpdated.get(0).sellIn);
-        assertEquals(42, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.TICKETS, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Coldplay Ticket", item.name);
+        assertEquals(6, item.sellIn);
+        assertEquals(42, item.quality);
+        assertEquals(Item.Type.TICKETS, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -261,20 +272,21 @@ public class ItemServiceTest {
      * THEN the service should update the quality and sellIn values,but this scenario it is not a valid case,so the values do not change
      * sellIn value should be the same
      * quality should be the same
+     * and the unchanged item should not be saved
      */
     public void testUpdateQualityOfLegendaryTypeItemWithNegativeSellIn(){
 
         var item = new Item(0, "Disney's Brain", -1, 80, Item.Type.LEGENDARY);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Disney's Brain", itemsUpdated.get(0).name);
-        assertEquals(-1, itemsUpdated.get(0).sellIn);
-        assertEquals(80, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.LEGENDARY, itemsUpdated.get(0).type);
-        verify(itemRepository,times(1)).save(any());
+        assertEquals(0, item.getId());
+        assertEquals("Disney's Brain", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(80, item.quality);
+        assertEquals(Item.Type.LEGENDARY, item.type);
+        verify(itemRepository,never()).save(any());
     }
     @Test
     /**
@@ -289,13 +301,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Foo Fighters Ticket", 7, 50, Item.Type.TICKETS);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Foo Fighters Ticket", itemsUpdated.get(0).name);
-        assertEquals(6, itemsUpdated.get(0).sellIn);
-        assertEquals(50, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.TICKETS, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Foo Fighters Ticket", item.name);
+        assertEquals(6, item.sellIn);
+        assertEquals(50, item.quality);
+        assertEquals(Item.Type.TICKETS, item.type);
         verify(itemRepository,times(1)).save(any());
     }
     @Test
@@ -305,20 +317,21 @@ public class ItemServiceTest {
      * THEN the service should update the quality and sellIn values,but this scenario it is not a valid case,so the values do not change
      * sellIn value should be the same
      * quality should be the same
+     * and the unchanged item should not be saved
      */
     public void testUpdateQualityOfLegendaryTypeItemNegativeQualityAndSellIn(){
 
         var item = new Item(0, "Davinci's book", -1, 0, Item.Type.LEGENDARY);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Davinci's book", itemsUpdated.get(0).name);
-        assertEquals(-1, itemsUpdated.get(0).sellIn);
-        assertEquals(0, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.LEGENDARY, itemsUpdated.get(0).type);
-        verify(itemRepository,times(1)).save(any());
+        assertEquals(0, item.getId());
+        assertEquals("Davinci's book", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(0, item.quality);
+        assertEquals(Item.Type.LEGENDARY, item.type);
+        verify(itemRepository,never()).save(any());
     }
 
     @Test
@@ -334,13 +347,13 @@ public class ItemServiceTest {
         var item = new Item(0, "Beer", 0, 50, Item.Type.AGED);
         when(itemRepository.findAll()).thenReturn(List.of(item));
 
-        List<Item> itemsUpdated = itemService.updateQuality();
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
 
-        assertEquals(0, itemsUpdated.get(0).getId());
-        assertEquals("Beer", itemsUpdated.get(0).name);
-        assertEquals(-1, itemsUpdated.get(0).sellIn);
-        assertEquals(50, itemsUpdated.get(0).quality);
-        assertEquals(Item.Type.AGED, itemsUpdated.get(0).type);
+        assertEquals(0, item.getId());
+        assertEquals("Beer", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(50, item.quality);
+        assertEquals(Item.Type.AGED, item.type);
         verify(itemRepository,times(1)).save(any());
     }
 
@@ -402,4 +415,102 @@ public class ItemServiceTest {
         assertEquals(item1,resultList.get(0));
         assertEquals(item2,resultList.get(1));
     }
+
+    @Test
+    /**
+     * GIVEN more items after the cursor than the requested limit
+     * WHEN listItems method is called with a limit
+     * THEN the service should return a page of that size and the id of its last item as next cursor
+     */
+    public void testListItemsPageWithNextPage(){
+
+        var filter = new ItemFilter();
+        var item1 = new Item(5, "Pringles", 100, 50, Item.Type.LEGENDARY);
+        var item2 = new Item(6, "Bianchi", 40, 35, Item.Type.NORMAL);
+        var item3 = new Item(9, "Wine", 10, 20, Item.Type.AGED);
+        when(itemRepository.findPage(filter, 4, 3)).thenReturn(List.of(item1, item2, item3));
+
+        var page = itemService.listItems(filter, 4, 2);
+
+        assertEquals(List.of(item1, item2), page.getItems());
+        assertEquals(6, page.getNextCursor());
+    }
+
+    @Test
+    /**
+     * GIVEN no more items after the requested page
+     * WHEN listItems method is called with a limit and no cursor
+     * THEN the service should return the remaining items without a next cursor
+     */
+    public void testListItemsLastPage(){
+
+        var filter = new ItemFilter();
+        var item = new Item(1, "Bianchi", 40, 35, Item.Type.NORMAL);
+        when(itemRepository.findPage(filter, Integer.MIN_VALUE, 3)).thenReturn(List.of(item));
+
+        var page = itemService.listItems(filter, null, 2);
+
+        assertEquals(List.of(item), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    /**
+     * GIVEN random items of every type
+     * WHEN projectItem method is called for a random number of days
+     * THEN the projection should match applying the daily update that many times
+     * and the stored item should not change
+     */
+    public void testProjectItemMatchesDailyUpdates(){
+
+        var random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            var type = Item.Type.values()[random.nextInt(Item.Type.values().length)];
+            var stored = new Item(i, "Item " + i, random.nextInt(40) - 10, random.nextInt(56), type);
+            var expected = new Item(i, stored.name, stored.sellIn, stored.quality, type);
+            int days = random.nextInt(60);
+            when(itemRepository.findById(i)).thenReturn(Optional.of(stored));
+
+            var projected = itemService.projectItem(i, days);
+            for (int day = 0; day < days; day++) {
+                LegacyQualityRules.apply(expected);
+            }
+
+            assertEquals(expected.sellIn, projected.sellIn, expected + " x" + days);
+            assertEquals(expected.quality, projected.quality, expected + " x" + days);
+            assertEquals(expected.sellIn + (type == Item.Type.LEGENDARY ? 0 : days), stored.sellIn);
+        }
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    /**
+     * GIVEN a negative number of days
+     * WHEN projectItem method is called
+     * THEN a BadRequestException should be thrown
+     */
+    public void testProjectItemWithNegativeDays(){
+
+        assertThrows(BadRequestException.class, () -> itemService.projectItem(0, -1));
+    }
+
+    @Test
+    /**
+     * GIVEN a legendary item and a normal item at quality 0
+     * WHEN updateQuality is called in PER_ITEM mode
+     * THEN only the normal item should be saved and the legendary one counted as unchanged
+     */
+    public void testUpdateQualitySkipsUnchangedItems(){
+
+        var legendary = new Item(1, "Sulfuras", 5, 80, Item.Type.LEGENDARY);
+        var normal = new Item(2, "Oreo", 5, 0, Item.Type.NORMAL);
+        when(itemRepository.findAll()).thenReturn(List.of(legendary, normal));
+
+        var summary = itemService.updateQuality(QualityUpdateMode.PER_ITEM);
+
+        assertEquals(1, summary.getRowsUnchanged());
+        assertEquals(1, summary.getSaturatedAtMin());
+        verify(itemRepository, never()).save(legendary);
+        verify(itemRepository, times(1)).save(normal);
+    }
 }
@@ -0,0 +1,66 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+
+/**
+ * The original if-chain of ItemService.updateQuality, kept as the reference implementation
+ * for parity tests and benchmarks of {@link QualityRules}.
+ */
+public final class LegacyQualityRules {
+
+    private LegacyQualityRules() {
+    }
+
+    public static void apply(Item item) {
+        boolean sellDatePassed = item.sellIn < 1;
+        int baseAdjustment = 1;
+
+        if(item.type.equals(Item.Type.NORMAL)){
+            int adjustment = sellDatePassed ? baseAdjustment*2 : baseAdjustment;
+            changeQuality(item, -adjustment);
+            reduceSellIn(item);
+        }
+
+        if(item.type.equals(Item.Type.AGED)){
+            int adjustment = sellDatePassed ? baseAdjustment*2 : baseAdjustment;
+            changeQuality(item, adjustment);
+            reduceSellIn(item);
+        }
+
+        if(item.type.equals(Item.Type.TICKETS)){
+            changeTicketsQuality(item,sellDatePassed);
+            reduceSellIn(item);
+        }
+    }
+
+    public static void changeQuality(Item item, int adjustment){
+        int newQuality = item.quality+adjustment;
+        int maxQuality = 50;
+        int minQuality = 0;
+        boolean inRange = newQuality <=maxQuality && newQuality>=minQuality;
+        if (inRange){
+            item.quality = newQuality;
+        }
+    }
+
+    private static void changeTicketsQuality(Item item, boolean sellDatePassed) {
+        int doubleDate = 10;
+        int tripleDate = 5;
+        changeQuality(item, 1);
+        if (item.sellIn <= doubleDate) {
+            changeQuality(item, 1);
+        }
+
+        if (item.sellIn <= tripleDate) {
+            changeQuality(item, 1);
+        }
+        if (sellDatePassed) {
+            item.quality = 0;
+        }
+    }
+
+    public static void reduceSellIn(Item item){
+        int degradeRate = 1;
+        item.sellIn -= degradeRate;
+    }
+}
@@ -0,0 +1,88 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "gildedrose.quality.partitions=64",
+        "gildedrose.quality.chunk-size=5",
+        "spring.datasource.hikari.maximum-pool-size=4"})
+public class PartitionedQualityUpdaterTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private PartitionedQualityUpdater partitionedQualityUpdater;
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN items spread over several partitions
+     * WHEN updateQuality is called in PARALLEL mode
+     * THEN every item should end with the same sellIn and quality as with the sequential CHUNKED mode
+     * and the merged summary should count every item
+     */
+    public void testParallelModeMatchesChunkedMode(){
+
+        var items = itemRepository.saveAll(sampleItems());
+
+        itemService.updateQuality(QualityUpdateMode.CHUNKED);
+        var expected = snapshot();
+        itemRepository.deleteAllInBatch();
+        itemRepository.saveAll(sampleItems());
+        var summary = itemService.updateQuality(QualityUpdateMode.PARALLEL);
+
+        assertEquals(expected, snapshot());
+        assertEquals(items.size(), summary.getRowsProcessed());
+        assertEquals(items.size() / 4, summary.getItemsByType().get(Item.Type.AGED));
+    }
+
+    @Test
+    /**
+     * GIVEN more partitions configured than connections in the pool
+     * WHEN the partition count is computed
+     * THEN it should be capped by the pool size
+     */
+    public void testPartitionCountIsCappedByPoolSize(){
+
+        assertEquals(4, partitionedQualityUpdater.partitionCount());
+    }
+
+    private List<Item> sampleItems(){
+        List<Item> items = new ArrayList<>();
+        for (Item.Type type : Item.Type.values()) {
+            for (int sellIn = -1; sellIn <= 11; sellIn++) {
+                for (int quality = 0; quality <= 50; quality += 10) {
+                    items.add(new Item(0, type + " " + sellIn + "/" + quality, sellIn, quality, type));
+                }
+            }
+        }
+        return items;
+    }
+
+    private List<String> snapshot(){
+        List<String> rows = new ArrayList<>();
+        itemRepository.findAll().stream()
+                .sorted((a, b) -> Integer.compare(a.getId(), b.getId()))
+                .forEach(item -> rows.add(item.name + " -> " + item.sellIn + "/" + item.quality));
+        return rows;
+    }
+}
@@ -0,0 +1,255 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.error.QualityRunInProgressException;
+import com.perficient.praxis.gildedrose.error.StaleBusinessDateException;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import com.perficient.praxis.gildedrose.repository.QualityJobRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest(properties = "gildedrose.quality.chunk-size=2")
+public class QualityJobServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private QualityJobRepository qualityJobRepository;
+
+    @Autowired
+    private QualityJobService qualityJobService;
+
+    @AfterEach
+    public void cleanUp(){
+        qualityJobRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN three normal items
+     * WHEN a CHUNKED quality job is submitted
+     * THEN the job should complete with every item processed and checkpointed at the last id
+     */
+    public void testSubmittedJobCompletes() throws InterruptedException {
+
+        var items = itemRepository.saveAll(sampleItems());
+
+        var job = awaitFinished(qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY, false).getId());
+
+        assertEquals(QualityJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        assertEquals(3, job.getTotal());
+        assertEquals(items.get(2).getId(), job.getLastProcessedId());
+        itemRepository.findAll().forEach(item -> assertEquals(9, item.quality));
+    }
+
+    @Test
+    /**
+     * GIVEN a CHUNKED job left running after the first two items were committed
+     * WHEN the interrupted jobs are resumed
+     * THEN only the third item should be updated
+     */
+    public void testInterruptedChunkedJobResumesAfterCheckpoint() throws InterruptedException {
+
+        var items = itemRepository.saveAll(sampleItems());
+        var interrupted = new QualityJob(QualityUpdateMode.CHUNKED, TODAY, 1);
+        interrupted.setStatus(QualityJob.Status.RUNNING);
+        interrupted.setLastProcessedId(items.get(1).getId());
+        interrupted.setProcessed(2);
+        interrupted = qualityJobRepository.save(interrupted);
+
+        qualityJobService.resumeInterruptedJobs();
+        var job = awaitFinished(interrupted.getId());
+
+        assertEquals(QualityJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        assertEquals(10, itemRepository.findById(items.get(0).getId()).get().quality);
+        assertEquals(10, itemRepository.findById(items.get(1).getId()).get().quality);
+        assertEquals(9, itemRepository.findById(items.get(2).getId()).get().quality);
+    }
+
+    @Test
+    /**
+     * GIVEN a CHUNKED job left running after the first two items were committed
+     * WHEN it is resumed and its progress is polled
+     * THEN the throughput and the estimate left should only count the items of the resumed run
+     */
+    public void testResumedJobProgressCountsItsOwnRun() throws InterruptedException {
+
+        var items = itemRepository.saveAll(sampleItems());
+        var interrupted = new QualityJob(QualityUpdateMode.CHUNKED, TODAY, 1);
+        interrupted.setStatus(QualityJob.Status.RUNNING);
+        interrupted.setLastProcessedId(items.get(1).getId());
+        interrupted.setProcessed(2);
+        interrupted = qualityJobRepository.save(interrupted);
+
+        qualityJobService.resumeInterruptedJobs();
+        var job = awaitFinished(interrupted.getId());
+
+        assertEquals(2, job.getProcessedAtStart());
+        long millis = Math.max(Duration.between(job.getStartedAt(), job.getFinishedAt()).toMillis(), 1);
+        assertEquals(1000.0 / millis, job.getItemsPerSecond());
+
+        // polled while running: 10 items in the 10 seconds since it resumed, 10 left
+        job.setStatus(QualityJob.Status.RUNNING);
+        job.setFinishedAt(null);
+        job.setStartedAt(LocalDateTime.now().minusSeconds(10));
+        job.setProcessedAtStart(80);
+        job.setProcessed(90);
+        job.setTotal(100);
+        long eta = job.getEtaSeconds();
+        assertTrue(eta >= 10 && eta <= 11, "eta was " + eta);
+    }
+
+    @Test
+    /**
+     * GIVEN a BULK job left running, its updates never committed since its completion would have been
+     * recorded with them
+     * WHEN the interrupted jobs are resumed, twice
+     * THEN the job should complete with every item processed and the items degraded once
+     */
+    public void testInterruptedBulkJobResumesOnce() throws InterruptedException {
+
+        itemRepository.saveAll(sampleItems());
+        var interrupted = new QualityJob(QualityUpdateMode.BULK, TODAY, 1);
+        interrupted.setStatus(QualityJob.Status.RUNNING);
+        interrupted = qualityJobRepository.save(interrupted);
+
+        qualityJobService.resumeInterruptedJobs();
+        var job = awaitFinished(interrupted.getId());
+        qualityJobService.resumeInterruptedJobs();
+
+        assertEquals(QualityJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        itemRepository.findAll().forEach(item -> assertEquals(9, item.quality));
+    }
+
+    @Test
+    /**
+     * GIVEN a PER_ITEM job left running
+     * WHEN the interrupted jobs are resumed
+     * THEN the job should be marked as failed and no item should change
+     */
+    public void testInterruptedPerItemJobIsNotResumed() {
+
+        itemRepository.saveAll(sampleItems());
+        var interrupted = new QualityJob(QualityUpdateMode.PER_ITEM, TODAY, 1);
+        interrupted.setStatus(QualityJob.Status.RUNNING);
+        interrupted = qualityJobRepository.save(interrupted);
+
+        qualityJobService.resumeInterruptedJobs();
+
+        assertEquals(QualityJob.Status.FAILED, qualityJobService.findById(interrupted.getId()).getStatus());
+        itemRepository.findAll().forEach(item -> assertEquals(10, item.quality));
+    }
+
+    @Test
+    /**
+     * GIVEN a completed quality job for a business date
+     * WHEN the same date is submitted again
+     * THEN the recorded job should be returned and the items degraded only once
+     */
+    public void testSameBusinessDateIsAppliedOnce() throws InterruptedException {
+
+        itemRepository.saveAll(sampleItems());
+        var first = awaitFinished(qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY, false).getId());
+
+        var second = qualityJobService.submit(QualityUpdateMode.BULK, TODAY, false);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(QualityJob.Status.COMPLETED, second.getStatus());
+        itemRepository.findAll().forEach(item -> assertEquals(9, item.quality));
+    }
+
+    @Test
+    /**
+     * GIVEN a completed quality job three days ago
+     * WHEN today is submitted in catch-up mode
+     * THEN the three days should be applied in one job, a covered date should return that job
+     * and a date before the ledger should be rejected
+     */
+    public void testCatchUpAppliesMissedDays() throws InterruptedException {
+
+        itemRepository.saveAll(sampleItems());
+        awaitFinished(qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY.minusDays(3), false).getId());
+
+        var catchUp = awaitFinished(qualityJobService.submit(QualityUpdateMode.BULK, TODAY, true).getId());
+
+        assertEquals(3, catchUp.getDays());
+        assertEquals(QualityUpdateMode.CHUNKED, catchUp.getMode());
+        itemRepository.findAll().forEach(item -> assertEquals(6, item.quality));
+        itemRepository.findAll().forEach(item -> assertEquals(1, item.sellIn));
+        assertEquals(catchUp.getId(), qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY.minusDays(1), false).getId());
+        assertThrows(StaleBusinessDateException.class,
+                () -> qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY.minusDays(5), false));
+    }
+
+    @Test
+    /**
+     * GIVEN a CHUNKED job for yesterday that failed after committing its first two items
+     * WHEN today is submitted in catch-up mode
+     * THEN it should be rejected while yesterday's job is resumed, and once that completes today
+     * should be applied as a single day, every item degraded once per day
+     */
+    public void testCatchUpWaitsForPartlyAppliedJob() throws InterruptedException {
+
+        var items = itemRepository.saveAll(sampleItems());
+        for (Item item : items.subList(0, 2)) {
+            item.quality = 9;
+            item.sellIn = 4;
+        }
+        itemRepository.saveAll(items);
+        var failed = new QualityJob(QualityUpdateMode.CHUNKED, TODAY.minusDays(1), 1);
+        failed.setStatus(QualityJob.Status.FAILED);
+        failed.setLastProcessedId(items.get(1).getId());
+        failed.setProcessed(2);
+        failed = qualityJobRepository.save(failed);
+
+        assertThrows(QualityRunInProgressException.class,
+                () -> qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY, true));
+        assertEquals(QualityJob.Status.COMPLETED, awaitFinished(failed.getId()).getStatus());
+        itemRepository.findAll().forEach(item -> assertEquals(9, item.quality));
+
+        var today = awaitFinished(qualityJobService.submit(QualityUpdateMode.CHUNKED, TODAY, true).getId());
+
+        assertEquals(1, today.getDays());
+        itemRepository.findAll().forEach(item -> assertEquals(8, item.quality));
+    }
+
+    private List<Item> sampleItems(){
+        return List.of(
+                new Item(0, "Oreo", 5, 10, Item.Type.NORMAL),
+                new Item(0, "Bread", 5, 10, Item.Type.NORMAL),
+                new Item(0, "Milk", 5, 10, Item.Type.NORMAL));
+    }
+
+    private QualityJob awaitFinished(long id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var job = qualityJobService.findById(id);
+            if (job.getStatus() == QualityJob.Status.COMPLETED || job.getStatus() == QualityJob.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        fail("Quality job " + id + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.business.rules.AgedQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.LegendaryQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.NormalQualityRule;
+import com.perficient.praxis.gildedrose.business.rules.TicketsQualityRule;
+import com.perficient.praxis.gildedrose.model.Item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QualityRulesTest {
+
+    private final QualityRules qualityRules = new QualityRules(List.of(
+            new NormalQualityRule(), new AgedQualityRule(), new TicketsQualityRule(), new LegendaryQualityRule()));
+
+    @Test
+    /**
+     * GIVEN items of every type with sellIn and quality values around every threshold
+     * WHEN the registered rules are applied
+     * THEN the result should be the same as with the original if-chain
+     */
+    public void testRulesMatchOriginalImplementation(){
+
+        for (Item.Type type : Item.Type.values()) {
+            for (int sellIn = -3; sellIn <= 15; sellIn++) {
+                for (int quality = -3; quality <= 82; quality++) {
+                    var expected = new Item(0, "expected", sellIn, quality, type);
+                    var actual = new Item(0, "actual", sellIn, quality, type);
+
+                    LegacyQualityRules.apply(expected);
+                    qualityRules.apply(actual);
+
+                    String scenario = type + " " + sellIn + "/" + quality;
+                    assertEquals(expected.sellIn, actual.sellIn, scenario);
+                    assertEquals(expected.quality, actual.quality, scenario);
+                }
+            }
+        }
+    }
+
+    @Test
+    /**
+     * GIVEN items of every type with sellIn and quality values around every threshold
+     * WHEN several days are applied at once
+     * THEN the result should be the same as applying the original if-chain once per day
+     */
+    public void testCatchUpMatchesDailyUpdates(){
+
+        for (Item.Type type : Item.Type.values()) {
+            for (int sellIn = -3; sellIn <= 15; sellIn++) {
+                for (int quality = -3; quality <= 82; quality++) {
+                    for (int days = 1; days <= 25; days++) {
+                        var expected = new Item(0, "expected", sellIn, quality, type);
+                        var actual = new Item(0, "actual", sellIn, quality, type);
+
+                        for (int day = 0; day < days; day++) {
+                            LegacyQualityRules.apply(expected);
+                        }
+                        qualityRules.apply(actual, days, null);
+
+                        String scenario = type + " " + sellIn + "/" + quality + " x" + days;
+                        assertEquals(expected.sellIn, actual.sellIn, scenario);
+                        assertEquals(expected.quality, actual.quality, scenario);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    /**
+     * GIVEN a legendary item
+     * WHEN the registered rules are applied
+     * THEN the item should be reported as unchanged
+     */
+    public void testLegendaryItemIsNotChanged(){
+
+        var item = new Item(0, "Sulfuras", 5, 80, Item.Type.LEGENDARY);
+
+        assertFalse(qualityRules.apply(item));
+    }
+
+    @Test
+    /**
+     * GIVEN items reaching a limit, items already at one, a ticket dropping to 0 after the concert and items
+     * moving freely
+     * WHEN the registered rules are applied with a summary, for one day and for a catch-up of three
+     * THEN every item held back by a limit should be counted at that limit, and only those
+     */
+    public void testSummaryCountsClampedItems(){
+
+        for (int days : new int[] {1, 3}) {
+            var summary = new QualityRunSummary(QualityUpdateMode.PER_ITEM);
+            List.of(new Item(0, "Oreo", 0, 1, Item.Type.NORMAL),
+                    new Item(0, "Bread", 5, 0, Item.Type.NORMAL),
+                    new Item(0, "Wine", 0, 49, Item.Type.AGED),
+                    new Item(0, "Cheese", 5, 50, Item.Type.AGED),
+                    new Item(0, "Concert", 3, 48, Item.Type.TICKETS),
+                    new Item(0, "Show", 0, 30, Item.Type.TICKETS),
+                    new Item(0, "Milk", 20, 30, Item.Type.NORMAL),
+                    new Item(0, "Sulfuras", 5, 80, Item.Type.LEGENDARY))
+                    .forEach(item -> qualityRules.apply(item, days, summary));
+
+            assertEquals(2, summary.getSaturatedAtMin(), "x" + days);
+            assertEquals(3, summary.getSaturatedAtMax(), "x" + days);
+        }
+    }
+
+    @Test
+    /**
+     * GIVEN two rules registered for the same type
+     * WHEN the rules are created
+     * THEN an exception should be thrown
+     */
+    public void testDuplicatedRuleIsRejected(){
+
+        assertThrows(IllegalStateException.class, () ->
+                new QualityRules(List.of(new NormalQualityRule(), new NormalQualityRule())));
+    }
+}
@@ -0,0 +1,65 @@
+package com.perficient.praxis.gildedrose.business;
+
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class QualityRunMetricsTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void cleanUp(){
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN a normal item at quality 0, an aged item at quality 50 and a normal item that can still degrade
+     * WHEN updateQuality is called in CHUNKED mode
+     * THEN the run should be timed, the items counted by type and each limit counted once
+     */
+    public void testQualityRunPublishesMetrics(){
+
+        itemRepository.saveAll(List.of(
+                new Item(0, "Oreo", 5, 0, Item.Type.NORMAL),
+                new Item(0, "Cheese", 5, 50, Item.Type.AGED),
+                new Item(0, "Bread", 5, 10, Item.Type.NORMAL)));
+        double normalBefore = count("gildedrose.quality.items", "type", "NORMAL");
+        double minBefore = count("gildedrose.quality.saturated", "limit", "min");
+        double maxBefore = count("gildedrose.quality.saturated", "limit", "max");
+
+        var summary = itemService.updateQuality(QualityUpdateMode.CHUNKED);
+
+        assertEquals(1, summary.getSaturatedAtMin());
+        assertEquals(1, summary.getSaturatedAtMax());
+        assertEquals(2, count("gildedrose.quality.items", "type", "NORMAL") - normalBefore);
+        assertEquals(1, count("gildedrose.quality.saturated", "limit", "min") - minBefore);
+        assertEquals(1, count("gildedrose.quality.saturated", "limit", "max") - maxBefore);
+        assertTrue(meterRegistry.get("gildedrose.quality.run").tag("mode", "CHUNKED").timer().count() > 0);
+        assertTrue(meterRegistry.get("gildedrose.item.service").tag("method", "updateQuality").timer().count() > 0);
+    }
+
+    private double count(String name, String tag, String value){
+        var counter = meterRegistry.find(name).tag(tag, value).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
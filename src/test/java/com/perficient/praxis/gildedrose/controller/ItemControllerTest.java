@@ -0,0 +1,451 @@
+package com.perficient.praxis.gildedrose.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemChange;
+import com.perficient.praxis.gildedrose.repository.CatalogGeneration;
+import com.perficient.praxis.gildedrose.repository.ItemChangeRepository;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import com.perficient.praxis.gildedrose.repository.QualityJobRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ItemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private QualityJobRepository qualityJobRepository;
+
+    @Autowired
+    private ItemChangeRepository itemChangeRepository;
+
+    @Autowired
+    private CatalogGeneration catalogGeneration;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp(){
+        qualityJobRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN no quality job running
+     * WHEN the quality endpoint is called
+     * THEN the job should be accepted and pollable through the Location header
+     */
+    public void testUpdateQualityIsAccepted() throws Exception {
+
+        var location = mockMvc.perform(post("/api/items/quality").param("mode", "BULK").param("date", "2024-03-10"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.mode").value("BULK"))
+                .andExpect(jsonPath("$.businessDate").value("2024-03-10"))
+                .andReturn().getResponse().getHeader("Location");
+
+        String status = null;
+        for (int i = 0; i < 100 && !"COMPLETED".equals(status); i++) {
+            Thread.sleep(50);
+            status = JsonPath.read(mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+        }
+        assertEquals("COMPLETED", status);
+    }
+
+    @Test
+    /**
+     * GIVEN two items in the database
+     * WHEN the export endpoint is called
+     * THEN the response should contain one JSON item per line
+     */
+    public void testExportItemsAsNdjson() throws Exception {
+
+        itemRepository.saveAll(List.of(
+                new Item(0, "Oreo", 10, 30, Item.Type.NORMAL),
+                new Item(0, "Wine", 5, 20, Item.Type.AGED)));
+
+        var result = mockMvc.perform(get("/api/items/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(true, lines[0].contains("\"name\":\"Oreo\""));
+        assertEquals(true, lines[1].contains("\"name\":\"Wine\""));
+    }
+
+    @Test
+    /**
+     * GIVEN one item in the database
+     * WHEN the export endpoint is called with gzip enabled
+     * THEN the response should be gzip encoded
+     */
+    public void testExportItemsGzipped() throws Exception {
+
+        itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+
+        var result = mockMvc.perform(get("/api/items/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var content = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes());
+        assertEquals(true, content.startsWith("{") && content.endsWith("}\n"));
+    }
+
+    @Test
+    /**
+     * GIVEN a normal and an aged item in the database
+     * WHEN the projection endpoint is called for 3 days
+     * THEN the response should contain the projected items and the stored items should not change
+     */
+    public void testProjectItemsAsNdjson() throws Exception {
+
+        itemRepository.saveAll(List.of(
+                new Item(0, "Oreo", 2, 30, Item.Type.NORMAL),
+                new Item(0, "Wine", 5, 20, Item.Type.AGED)));
+
+        var result = mockMvc.perform(get("/api/items/projection").param("days", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(26, (int) JsonPath.read(lines[0], "$.quality"));
+        assertEquals(-1, (int) JsonPath.read(lines[0], "$.sellIn"));
+        assertEquals(23, (int) JsonPath.read(lines[1], "$.quality"));
+        itemRepository.findAll().forEach(item -> assertEquals(true, item.quality == 30 || item.quality == 20));
+    }
+
+    @Test
+    /**
+     * GIVEN a negative number of days
+     * WHEN the projection endpoint is called
+     * THEN the response should be a bad request
+     */
+    public void testProjectItemsWithNegativeDays() throws Exception {
+
+        mockMvc.perform(get("/api/items/projection").param("days", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    /**
+     * GIVEN an item updated since a client read it at version 0
+     * WHEN the client updates it from version 0
+     * THEN the response should be a conflict and the newer values should be kept
+     */
+    public void testUpdateItemFromOutdatedVersionIsConflict() throws Exception {
+
+        var item = itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+
+        mockMvc.perform(put("/api/items/" + item.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":25,\"type\":\"NORMAL\",\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(put("/api/items/" + item.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":20,\"type\":\"NORMAL\",\"version\":0}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("CONFLICT"));
+
+        assertEquals(25, itemRepository.findById(item.getId()).orElseThrow().quality);
+    }
+
+    @Test
+    /**
+     * GIVEN an item created through the API
+     * WHEN the changes endpoint is called
+     * THEN the last line should be the creation of the item, with its seq to resume from
+     */
+    public void testListChangesAsNdjson() throws Exception {
+
+        int id = JsonPath.read(mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":30,\"type\":\"NORMAL\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        var result = mockMvc.perform(get("/api/items/changes").param("since", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        var last = lines[lines.length - 1];
+        assertEquals(id, (int) JsonPath.read(last, "$.itemId"));
+        assertEquals("CREATED", JsonPath.read(last, "$.action"));
+        assertEquals(true, ((Number) JsonPath.read(last, "$.seq")).longValue() > 0);
+    }
+
+    @Test
+    /**
+     * GIVEN a client that listed the items and kept their ETag
+     * WHEN it lists them again with that ETag, then again once an item was created
+     * THEN the first answer should be 304 without a body and the second a full listing with a new ETag
+     */
+    public void testListItemsNotModifiedUntilTheCatalogChanges() throws Exception {
+
+        itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        var etag = mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Wine\",\"sellIn\":5,\"quality\":20,\"type\":\"AGED\"}"))
+                .andExpect(status().isCreated());
+        var newEtag = mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    /**
+     * GIVEN a client that read an item at version 0
+     * WHEN it reads it again with the ETag it got, then again once the item was updated
+     * THEN the first answer should be 304 and the second the updated item with the ETag of version 1
+     */
+    public void testFindItemNotModifiedUntilItIsUpdated() throws Exception {
+
+        var item = itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        var etag = "W/\"" + item.getId() + "-0\"";
+
+        mockMvc.perform(get("/api/items/" + item.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", etag));
+        mockMvc.perform(get("/api/items/" + item.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/items/" + item.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":25,\"type\":\"NORMAL\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/" + item.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + item.getId() + "-1\""))
+                .andExpect(jsonPath("$.quality").value(25));
+    }
+
+    @Test
+    /**
+     * GIVEN a client that listed the items while a creation was recorded but not committed yet
+     * WHEN it lists them again with the ETag it got, once the creation committed
+     * THEN the answer should be the listing with the new item, not 304
+     */
+    public void testListingReadBeforeACommitIsNotRevalidated() throws Exception {
+
+        var etag = new TransactionTemplate(transactionManager).execute(status -> {
+            var item = itemRepository.saveAndFlush(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+            itemChangeRepository.append(ItemChange.Action.CREATED, List.of(item));
+            return "W/" + catalogGeneration.etag();
+        });
+
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Oreo"));
+    }
+
+    @Test
+    /**
+     * GIVEN a client holding the ETags of the listing and of an item
+     * WHEN another instance updates the item, changing its row and moving the catalog generation on in the database
+     * THEN both should be answered in full with new ETags, not 304
+     */
+    public void testWritesOfAnotherInstanceInvalidateTheETags() throws Exception {
+
+        var item = itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        var listEtag = mockMvc.perform(get("/api/items")).andReturn().getResponse().getHeader("ETag");
+        var itemEtag = mockMvc.perform(get("/api/items/" + item.getId())).andReturn().getResponse().getHeader("ETag");
+
+        jdbcTemplate.update("update items set quality = 25, version = version + 1 where id = ?", item.getId());
+        jdbcTemplate.queryForObject("select nextval('catalog_generation_seq')", Long.class);
+
+        var newListEtag = mockMvc.perform(get("/api/items").header("If-None-Match", listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quality").value(25))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(listEtag, newListEtag);
+        mockMvc.perform(get("/api/items/" + item.getId()).header("If-None-Match", itemEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + item.getId() + "-1\""))
+                .andExpect(jsonPath("$.quality").value(25));
+    }
+
+    @Test
+    /**
+     * GIVEN two items in the database
+     * WHEN they are listed accepting Smile, and one of them is read accepting CBOR
+     * THEN the responses should be in those formats and decode to the stored items
+     */
+    public void testListItemsAsSmileAndFindItemAsCbor() throws Exception {
+
+        var oreo = itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        itemRepository.save(new Item(0, "Wine", 5, 20, Item.Type.AGED));
+
+        var smile = mockMvc.perform(get("/api/items").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        var cbor = mockMvc.perform(get("/api/items/" + oreo.getId()).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper smileMapper = new SmileMapper();
+        List<Item> items = List.of(smileMapper.readValue(smile, Item[].class));
+        assertEquals(List.of("Oreo", "Wine"), List.of(items.get(0).name, items.get(1).name));
+        assertEquals(Item.Type.AGED, items.get(1).type);
+        var item = new CBORMapper().readValue(cbor, Item.class);
+        assertEquals(oreo.getId(), item.getId());
+        assertEquals(30, item.quality);
+    }
+
+    @Test
+    /**
+     * GIVEN an item without name and with a quality above 80
+     * WHEN it is created
+     * THEN the response should be a bad request reporting both fields
+     */
+    public void testCreateItemReportsEveryInvalidField() throws Exception {
+
+        mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"\",\"sellIn\":10,\"quality\":90,\"type\":\"NORMAL\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("There are issues with the fields name, quality"))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].field").value("name"))
+                .andExpect(jsonPath("$.errors[0].message").value("Name is mandatory"))
+                .andExpect(jsonPath("$.errors[1].field").value("quality"))
+                .andExpect(jsonPath("$.debugMessage").value(containsString("Validation failed")));
+
+        mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Oreo\",\"sellIn\":10,\"type\":\"NORMAL\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("There is an issue with the field quality, quality is mandatory"))
+                .andExpect(jsonPath("$.errors.length()").value(1));
+    }
+
+    @Test
+    /**
+     * GIVEN an item with a type that does not exist
+     * WHEN it is created
+     * THEN the response should be a bad request listing the accepted types
+     */
+    public void testCreateItemWithUnknownType() throws Exception {
+
+        mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":30,\"type\":\"FOOD\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("value should be one of: AGED, NORMAL, LEGENDARY, TICKETS"))
+                .andExpect(jsonPath("$.errors").doesNotExist());
+    }
+
+    @Test
+    /**
+     * GIVEN a newline-delimited batch whose second line is not valid JSON
+     * WHEN it is posted
+     * THEN that line should fail with a bad request and the lines around it should still be applied
+     */
+    public void testStreamedBatchWithMalformedLine() throws Exception {
+
+        mockMvc.perform(post("/api/items/batch").contentType("application/x-ndjson")
+                        .content("{\"action\":\"UPSERT\",\"item\":{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":30,\"type\":\"NORMAL\"}}\n"
+                                + "{\"action\":\"UPSERT\",\"item\":{\"name\":\n"
+                                + "{\"action\":\"UPSERT\",\"item\":{\"name\":\"Beer\",\"sellIn\":3,\"quality\":10,\"type\":\"AGED\"}}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].error.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        assertEquals(2, itemRepository.count());
+    }
+
+    @Test
+    /**
+     * GIVEN a batch with a null entry, as a JSON array and as newline-delimited JSON
+     * WHEN it is posted
+     * THEN the null entry should fail with a bad request and the other entry should still be applied
+     */
+    public void testBatchWithNullEntry() throws Exception {
+
+        String oreo = "{\"action\":\"UPSERT\",\"item\":{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":30,\"type\":\"NORMAL\"}}";
+
+        mockMvc.perform(post("/api/items/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[null," + oreo + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("FAILED"))
+                .andExpect(jsonPath("$[0].error.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$[1].status").value("CREATED"));
+
+        mockMvc.perform(post("/api/items/batch").contentType("application/x-ndjson")
+                        .content("null\n" + oreo + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("FAILED"))
+                .andExpect(jsonPath("$[0].error.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$[1].status").value("CREATED"));
+
+        assertEquals(2, itemRepository.count());
+    }
+}
@@ -0,0 +1,202 @@
+package com.perficient.praxis.gildedrose.controller;
+
+import com.perficient.praxis.gildedrose.business.ItemService;
+import com.perficient.praxis.gildedrose.business.QualityRunLock;
+import com.perficient.praxis.gildedrose.business.QualityUpdateMode;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.QualityJob;
+import com.perficient.praxis.gildedrose.repository.CatalogGeneration;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+import com.perficient.praxis.gildedrose.repository.QualityJobRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "gildedrose.quality.chunk-size=7"})
+@ActiveProfiles("reactive")
+public class ReactiveItemControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private QualityJobRepository qualityJobRepository;
+
+    @Autowired
+    private QualityRunLock qualityRunLock;
+
+    @Autowired
+    private CatalogGeneration catalogGeneration;
+
+    @AfterEach
+    public void cleanUp(){
+        qualityJobRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    /**
+     * GIVEN the reactive profile
+     * WHEN an item is created, read, listed, updated and deleted through the API
+     * THEN every call should answer like the MVC API and a deleted item should not be found
+     */
+    public void testItemLifecycle(){
+
+        long generation = generation();
+        var created = webTestClient.post().uri("/api/items")
+                .bodyValue(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Item.class).returnResult().getResponseBody();
+        assertNotEquals(0, created.getId());
+        // moved on in the transaction of the creation and once more after its commit
+        assertEquals(generation + 2, generation());
+
+        webTestClient.get().uri("/api/items/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Oreo").jsonPath("$.type").isEqualTo("NORMAL");
+        webTestClient.get().uri("/api/items")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Item.class).hasSize(1);
+        webTestClient.put().uri("/api/items/{id}", created.getId())
+                .bodyValue(new Item(0, "Brie", 5, 10, Item.Type.AGED))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(created.getId());
+        assertEquals("Brie", itemRepository.findById(created.getId()).orElseThrow().name);
+
+        webTestClient.delete().uri("/api/items/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/items/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    /**
+     * GIVEN the reactive profile and an item updated since a client read it at version 0
+     * WHEN the client updates it from version 0
+     * THEN the response should be a conflict and the newer values should be kept
+     */
+    public void testUpdateItemFromOutdatedVersionIsConflict(){
+
+        var item = itemRepository.save(new Item(0, "Oreo", 10, 30, Item.Type.NORMAL));
+        var outdated = new Item(0, "Oreo", 10, 20, Item.Type.NORMAL);
+        outdated.setVersion(0);
+        var current = new Item(0, "Oreo", 10, 25, Item.Type.NORMAL);
+        current.setVersion(0);
+
+        webTestClient.put().uri("/api/items/{id}", item.getId())
+                .bodyValue(current)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+        webTestClient.put().uri("/api/items/{id}", item.getId())
+                .bodyValue(outdated)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        assertEquals(25, itemRepository.findById(item.getId()).orElseThrow().quality);
+    }
+
+    @Test
+    /**
+     * GIVEN items of every type spread over several chunks
+     * WHEN the quality endpoint is called
+     * THEN the run should be recorded as a completed job and every item should end with the same sellIn and
+     * quality as with the PER_ITEM mode
+     */
+    public void testUpdateQualityMatchesPerItemMode(){
+
+        var items = itemRepository.saveAll(sampleItems());
+
+        itemService.updateQuality(QualityUpdateMode.PER_ITEM);
+        var expected = snapshot();
+        itemRepository.deleteAllInBatch();
+        itemRepository.saveAll(sampleItems());
+
+        webTestClient.post().uri("/api/items/quality?date=2024-03-10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("COMPLETED")
+                .jsonPath("$.mode").isEqualTo("CHUNKED")
+                .jsonPath("$.processed").isEqualTo(items.size());
+        assertEquals(expected, snapshot());
+    }
+
+    @Test
+    /**
+     * GIVEN the reactive profile and a business date already applied
+     * WHEN the quality endpoint is called again for that date, and while a job of the servlet stack runs
+     * THEN the recorded job should be returned without degrading the items again, and the run should be
+     * rejected while the job holds the quality run lock
+     */
+    public void testUpdateQualityAppliesEachDateOnce(){
+
+        itemRepository.save(new Item(0, "Oreo", 5, 10, Item.Type.NORMAL));
+        long jobId = webTestClient.post().uri("/api/items/quality?date=2024-03-10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(QualityJob.class).returnResult().getResponseBody().getId();
+
+        webTestClient.post().uri("/api/items/quality?date=2024-03-10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(jobId);
+        assertEquals(9, itemRepository.findAll().get(0).quality);
+
+        try (QualityRunLock.Handle lock = qualityRunLock.tryAcquire()) {
+            webTestClient.post().uri("/api/items/quality?date=2024-03-11")
+                    .exchange()
+                    .expectStatus().isEqualTo(409);
+        }
+        assertEquals(9, itemRepository.findAll().get(0).quality);
+    }
+
+    private List<Item> sampleItems(){
+        List<Item> items = new ArrayList<>();
+        int[] qualities = {0, 1, 49, 50, 80};
+        for (Item.Type type : Item.Type.values()) {
+            for (int sellIn = -1; sellIn <= 11; sellIn += 3) {
+                for (int quality : qualities) {
+                    items.add(new Item(0, type + " " + sellIn + "/" + quality, sellIn, quality, type));
+                }
+            }
+        }
+        return items;
+    }
+
+    private List<String> snapshot(){
+        List<String> rows = new ArrayList<>();
+        itemRepository.findAll().stream()
+                .sorted((a, b) -> Integer.compare(a.getId(), b.getId()))
+                .forEach(item -> rows.add(item.name + " -> " + item.sellIn + "/" + item.quality));
+        return rows;
+    }
+
+    private long generation(){
+        String etag = catalogGeneration.etag();
+        return Long.parseLong(etag.substring(1, etag.length() - 1));
+    }
+}
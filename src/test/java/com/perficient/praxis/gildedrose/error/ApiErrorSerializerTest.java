@@ -0,0 +1,28 @@
+package com.perficient.praxis.gildedrose.error;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ApiErrorSerializerTest {
+
+    @Test
+    /**
+     * GIVEN timestamps in the morning, the afternoon and around midnight and noon
+     * WHEN they are formatted for an error response
+     * THEN they should read as the dd-MM-yyyy hh:mm:ss pattern errors were always formatted with
+     */
+    public void testTimestampIsFormattedLikeThePattern(){
+
+        var pattern = DateTimeFormatter.ofPattern("dd-MM-yyyy hh:mm:ss");
+        for (LocalDateTime timestamp : List.of(LocalDateTime.of(2024, 3, 9, 7, 5, 3),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59), LocalDateTime.of(2025, 1, 1, 0, 0, 0),
+                LocalDateTime.of(2025, 6, 15, 12, 30, 0))) {
+            assertEquals(timestamp.format(pattern), new String(ApiErrorSerializer.format(timestamp)));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.perficient.praxis.gildedrose.load;
+
+import com.perficient.praxis.gildedrose.GildedroseApplication;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of {@code 400 Bad Request} answers to {@code POST /api/items}, as a feed pushing invalid items
+ * gets them: bodies failing validation on two fields and bodies with an unknown type, sent by {@value #CLIENTS}
+ * concurrent clients after a warm-up. Nothing reaches the database. Run with {@code mvn -P load test}.
+ */
+@Tag("load")
+public class ErrorResponseLoadTest {
+
+    private static final int CLIENTS = 64;
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int REQUESTS = 50_000;
+    private static final String INVALID_FIELDS = "{\"name\":\"\",\"sellIn\":10,\"quality\":90,\"type\":\"NORMAL\"}";
+    private static final String UNKNOWN_TYPE = "{\"name\":\"Oreo\",\"sellIn\":10,\"quality\":30,\"type\":\"FOOD\"}";
+
+    @Test
+    /**
+     * GIVEN the application with an in-memory database
+     * WHEN 64 concurrent clients post items failing validation, then items with an unknown type
+     * THEN every answer should be a bad request and the throughput and latency of each should be reported
+     */
+    public void testBadRequestThroughput(){
+
+        try (var context = new SpringApplicationBuilder(GildedroseApplication.class).run(
+                "--server.port=0",
+                "--logging.level.root=warn",
+                "--spring.datasource.url=jdbc:h2:mem:errors;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            var uri = URI.create("http://localhost:" + port + "/api/items");
+
+            measure(client, uri, INVALID_FIELDS, WARMUP_REQUESTS);
+            measure(client, uri, UNKNOWN_TYPE, WARMUP_REQUESTS);
+            var invalidFields = measure(client, uri, INVALID_FIELDS, REQUESTS);
+            var unknownType = measure(client, uri, UNKNOWN_TYPE, REQUESTS);
+
+            System.out.printf("%-14s %10s %10s %12s%n", "", "p50 ms", "p99 ms", "requests/s");
+            print("invalid fields", invalidFields);
+            print("unknown type", unknownType);
+        }
+    }
+
+    private double[] measure(HttpClient client, URI uri, String body, int requests){
+        var request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long[] latencies = new long[requests];
+        var next = new AtomicInteger();
+        var failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (var clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 400) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(0, failures.get());
+        Arrays.sort(latencies);
+        return new double[] {percentile(latencies, 0.50), percentile(latencies, 0.99), requests / seconds};
+    }
+
+    private static double percentile(long[] sorted, double percentile){
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private static void print(String body, double[] result){
+        System.out.printf("%-14s %10.2f %10.2f %12.0f%n", body, result[0], result[1], result[2]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.perficient.praxis.gildedrose.load;
+
+import com.perficient.praxis.gildedrose.GildedroseApplication;
+import com.perficient.praxis.gildedrose.business.ItemBatchService;
+import com.perficient.praxis.gildedrose.business.ItemService;
+import com.perficient.praxis.gildedrose.business.QualityUpdateMode;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.model.ItemBatchOperation;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of the bulk insert and of a CHUNKED quality run with the default settings (SQL logging,
+ * no JDBC batching) and with the prod profile, each against its own in-memory database in PostgreSQL mode.
+ * The PostgreSQL driver settings of the profile do not apply here, so real databases gain more.
+ * Run with {@code mvn -P load test}.
+ */
+@Tag("load")
+public class ProdProfileLoadTest {
+
+    private static final int ITEMS = 20_000;
+
+    @Test
+    /**
+     * GIVEN the default settings and the prod profile
+     * WHEN the same items are inserted and updated with each of them
+     * THEN every item should be processed and the throughput of both should be reported
+     */
+    public void testProdProfileThroughput(){
+
+        var before = measure("before",
+                "--spring.jpa.show-sql=true",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=0",
+                "--spring.jpa.properties.hibernate.order_updates=false",
+                "--spring.jpa.properties.hibernate.order_inserts=false");
+        var after = measure("after", "--spring.profiles.active=prod");
+
+        System.out.printf("%-8s %14s %14s%n", "", "inserts/s", "updates/s");
+        System.out.printf("%-8s %14.0f %14.0f%n", "default", before[0], before[1]);
+        System.out.printf("%-8s %14.0f %14.0f%n", "prod", after[0], after[1]);
+    }
+
+    private double[] measure(String database, String... settings){
+        List<String> args = new ArrayList<>(List.of(settings));
+        args.add("--server.port=0");
+        args.add("--spring.datasource.url=jdbc:h2:mem:load_" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (var context = new SpringApplicationBuilder(GildedroseApplication.class)
+                .run(args.toArray(new String[0]))) {
+            var batchService = context.getBean(ItemBatchService.class);
+            var itemService = context.getBean(ItemService.class);
+
+            long start = System.nanoTime();
+            var results = batchService.process(operations().iterator());
+            double inserts = ITEMS / seconds(start);
+
+            start = System.nanoTime();
+            var summary = itemService.updateQuality(QualityUpdateMode.CHUNKED);
+            double updates = ITEMS / seconds(start);
+
+            assertEquals(ITEMS, results.size());
+            assertEquals(ITEMS, summary.getRowsProcessed());
+            return new double[] {inserts, updates};
+        }
+    }
+
+    private static List<ItemBatchOperation> operations(){
+        var random = new Random(42);
+        var types = Item.Type.values();
+        List<ItemBatchOperation> operations = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            var type = types[random.nextInt(types.length)];
+            var operation = new ItemBatchOperation();
+            operation.setAction(ItemBatchOperation.Action.UPSERT);
+            operation.setItem(new Item(0, "item " + i, random.nextInt(30) - 5,
+                    type == Item.Type.LEGENDARY ? 80 : random.nextInt(51), type));
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    private static double seconds(long start){
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
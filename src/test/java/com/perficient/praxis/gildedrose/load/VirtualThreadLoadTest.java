@@ -0,0 +1,115 @@
+package com.perficient.praxis.gildedrose.load;
+
+import com.perficient.praxis.gildedrose.GildedroseApplication;
+import com.perficient.praxis.gildedrose.model.Item;
+import com.perficient.praxis.gildedrose.repository.ItemRepository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency of {@code GET /api/items/{id}} under {@value #CLIENTS} concurrent clients with the Tomcat worker
+ * pool and with the virtual thread execution mode, each against its own in-memory database in PostgreSQL
+ * mode and with the same Hikari pool. Run with {@code mvn -P load test}.
+ */
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = 5_000;
+    private static final int REQUESTS_PER_CLIENT = 4;
+    private static final int ITEMS = 1_000;
+
+    @Test
+    /**
+     * GIVEN the application with platform request threads and with virtual request threads
+     * WHEN 5000 concurrent clients request items by id
+     * THEN every request should succeed and the latency percentiles of both should be reported
+     */
+    public void testVirtualThreadLatency(){
+
+        var platform = measure("platform", false);
+        var virtual = measure("virtual", true);
+
+        System.out.printf("%-9s %10s %10s %10s %12s%n", "", "p50 ms", "p99 ms", "max ms", "requests/s");
+        print("platform", platform);
+        print("virtual", virtual);
+    }
+
+    private double[] measure(String database, boolean virtualThreads){
+        try (var context = new SpringApplicationBuilder(GildedroseApplication.class).run(
+                "--server.port=0",
+                "--gildedrose.virtual-threads.enabled=" + virtualThreads,
+                "--server.tomcat.accept-count=" + CLIENTS,
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=30000",
+                "--spring.datasource.url=jdbc:h2:mem:vt_" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")) {
+            var repository = context.getBean(ItemRepository.class);
+            List<Item> items = new ArrayList<>(ITEMS);
+            for (int i = 0; i < ITEMS; i++) {
+                items.add(new Item(0, "item " + i, 10, 20, Item.Type.NORMAL));
+            }
+            int[] ids = repository.saveAll(items).stream().mapToInt(Item::getId).toArray();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            var failures = new AtomicInteger();
+            long start = System.nanoTime();
+            try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    int offset = c * REQUESTS_PER_CLIENT;
+                    clients.submit(() -> {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            int id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                            var request = HttpRequest.newBuilder(
+                                    URI.create("http://localhost:" + port + "/api/items/" + id)).build();
+                            long sent = System.nanoTime();
+                            try {
+                                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                    failures.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                failures.incrementAndGet();
+                            }
+                            latencies[offset + r] = System.nanoTime() - sent;
+                        }
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(0, failures.get());
+            Arrays.sort(latencies);
+            return new double[] {
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1e6, latencies.length / seconds};
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile){
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private static void print(String mode, double[] result){
+        System.out.printf("%-9s %10.1f %10.1f %10.1f %12.0f%n", mode, result[0], result[1], result[2], result[3]);
+    }
+}
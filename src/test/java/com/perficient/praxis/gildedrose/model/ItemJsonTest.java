@@ -0,0 +1,69 @@
+package com.perficient.praxis.gildedrose.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemJsonTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    /**
+     * GIVEN items with every field set, and with the nullable ones missing
+     * WHEN they are written as responses
+     * THEN the JSON should be the same the reflective serializer wrote for the entities
+     */
+    public void testResponseIsWrittenLikeTheEntity() throws Exception {
+
+        var item = new Item(3, "Oreo", 10, 30, Item.Type.NORMAL);
+        item.setVersion(2);
+        var empty = new Item();
+
+        for (Item entity : List.of(item, empty)) {
+            assertEquals(objectMapper.writeValueAsString(entity), objectMapper.writeValueAsString(ItemResponse.of(entity)));
+        }
+    }
+
+    @Test
+    /**
+     * GIVEN a request body with every field, an unknown one and a quoted number
+     * WHEN it is read as an item
+     * THEN every known field should be set and the unknown one ignored
+     */
+    public void testItemIsReadFromRequestBody() throws Exception {
+
+        var item = objectMapper.readValue("{\"id\":3,\"version\":2,\"extra\":{\"a\":[1,2]},\"name\":\"Oreo\"," +
+                "\"sellIn\":\"10\",\"quality\":30,\"type\":\"AGED\"}", Item.class);
+
+        assertEquals(3, item.getId());
+        assertEquals(2, item.getVersion());
+        assertEquals("Oreo", item.name);
+        assertEquals(10, item.sellIn);
+        assertEquals(30, item.quality);
+        assertEquals(Item.Type.AGED, item.type);
+        assertNull(objectMapper.readValue("{\"name\":null,\"type\":null}", Item.class).type);
+    }
+
+    @Test
+    /**
+     * GIVEN a request body with an unknown type
+     * WHEN it is read as an item
+     * THEN it should fail with the accepted values in the message
+     */
+    public void testItemWithUnknownTypeIsRejected(){
+
+        var exception = assertThrows(InvalidFormatException.class, () ->
+                objectMapper.readValue("{\"name\":\"Oreo\",\"type\":\"FOOD\"}", Item.class));
+
+        assertTrue(exception.getMessage().contains("[AGED, NORMAL, LEGENDARY, TICKETS]"));
+    }
+}
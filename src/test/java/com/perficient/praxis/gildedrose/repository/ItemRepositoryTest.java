@@ -0,0 +1,44 @@
+package com.perficient.praxis.gildedrose.repository;
+
+import com.perficient.praxis.gildedrose.model.Item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class ItemRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    /**
+     * GIVEN items of different types, sellIn and quality values
+     * WHEN findPage is called with a cursor, a limit and filters
+     * THEN only the matching items after the cursor should be returned, in id order and up to the limit
+     */
+    public void testFindPageWithFilters(){
+
+        var items = itemRepository.saveAll(List.of(
+                new Item(0, "Milk", 5, 10, Item.Type.NORMAL),
+                new Item(0, "Wine", 5, 10, Item.Type.AGED),
+                new Item(0, "Bread", 2, 30, Item.Type.NORMAL),
+                new Item(0, "Cheese", 8, 20, Item.Type.NORMAL),
+                new Item(0, "Oreo", 9, 25, Item.Type.NORMAL),
+                new Item(0, "Eggs", 7, 40, Item.Type.NORMAL)));
+        var filter = new ItemFilter();
+        filter.setType(Item.Type.NORMAL);
+        filter.setMinSellIn(3);
+        filter.setMaxQuality(30);
+
+        var page = itemRepository.findPage(filter, items.get(0).getId(), 2);
+
+        assertEquals(List.of("Cheese", "Oreo"), page.stream().map(item -> item.name).collect(Collectors.toList()));
+    }
+}